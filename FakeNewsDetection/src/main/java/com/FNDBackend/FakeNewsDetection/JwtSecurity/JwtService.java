@@ -1,28 +1,61 @@
 package com.FNDBackend.FakeNewsDetection.JwtSecurity;
 
+import com.FNDBackend.FakeNewsDetection.cache.TtlCache;
+import com.FNDBackend.FakeNewsDetection.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified claims by token; each entry lives until its token expires
+    private TtlCache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedClaims = new TtlCache<String, Claims>(claimsCacheSize, Duration.ofMillis(jwtExpiration))
+                .registerMetrics(meterRegistry, "jwt.claims.cache");
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,7 +66,31 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+
+        Map<String, Object> claims = new HashMap<>();
+
+        // uid and roles let the filter authenticate from the token alone
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+        }
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+
+        return generateToken(claims, userDetails);
+    }
+
+    // Tokens issued before uid/roles were embedded yield empty and must be
+    // checked against the users table instead.
+    public Optional<JwtPrincipal> extractPrincipal(Claims claims) {
+
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+
+        if (userId == null || roles == null || isTokenExpired(claims)) return Optional.empty();
+
+        return Optional.of(new JwtPrincipal(userId.longValue(), claims.getSubject(),
+                roles.stream().map(String::valueOf).toList()));
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -51,28 +108,33 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Signature is verified once per token; repeat requests with the same
+    // bearer token are served from verifiedClaims until the token expires.
+    public Claims extractAllClaims(String token) {
+
+        Claims cached = verifiedClaims.get(token).orElse(null);
+        if (cached != null) return cached;
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        long remaining = claims.getExpiration().getTime() - System.currentTimeMillis();
+        verifiedClaims.put(token, claims, Duration.ofMillis(remaining));
+
+        return claims;
     }
 
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
@@ -0,0 +1,372 @@
+package com.FNDBackend.FakeNewsDetection.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Two-tier cache: a bounded TtlCache in front of an append-only file of JSON
+// lines, so entries survive restarts. Only key -> (offset, length, expiry) is
+// kept in memory for the disk tier; later records for a key supersede earlier
+// ones. The file is compacted on startup and whenever it outgrows maxDiskBytes.
+//
+// Locking: channelLock is always taken before lock. Disk reads hold only the
+// read side of channelLock while they copy their record, so they never wait on
+// one another; compaction and close() take the write side to swap the channel.
+@Slf4j
+public class PersistentTtlCache<V> implements AutoCloseable {
+
+    private final Path file;
+    private final Class<V> type;
+    private final ObjectMapper mapper;
+    private final Duration ttl;
+    private final long maxDiskBytes;
+
+    private final TtlCache<String, V> memory;
+
+    // index and liveBytes; appends are serialized by it as well
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReadWriteLock channelLock = new ReentrantReadWriteLock();
+    private final Map<String, Slot> index = new HashMap<>();
+    private FileChannel channel;
+    private long liveBytes;
+
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PersistentTtlCache(Path file, Class<V> type, ObjectMapper mapper,
+                              int memoryEntries, Duration ttl, long maxDiskBytes) {
+
+        this.file = file;
+        this.type = type;
+        this.mapper = mapper;
+        this.ttl = ttl;
+        this.maxDiskBytes = maxDiskBytes;
+        this.memory = new TtlCache<>(memoryEntries, ttl);
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            channel = open();
+            load();
+            // rewriting also drops a torn last line left by a crash
+            if (channel.size() > liveBytes) compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open cache file " + file, e);
+        }
+    }
+
+    public Optional<V> get(String key) {
+
+        Optional<V> cached = memory.get(key);
+        if (cached.isPresent()) return cached;
+
+        Optional<V> stored = readFromDisk(key);
+
+        if (stored.isPresent()) {
+            diskHits.increment();
+            memory.put(key, stored.get(), remaining(key));
+        } else {
+            misses.increment();
+        }
+        return stored;
+    }
+
+    public void put(String key, V value) {
+
+        memory.put(key, value);
+
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        boolean full;
+
+        channelLock.readLock().lock();
+        lock.lock();
+        try {
+            byte[] line = encode(new DiskRecord(key, expiresAt, mapper.valueToTree(value)));
+
+            long offset = channel.size();
+            channel.write(ByteBuffer.wrap(line), offset);
+
+            Slot previous = index.put(key, new Slot(offset, line.length, expiresAt));
+            if (previous != null) liveBytes -= previous.length();
+            liveBytes += line.length;
+
+            full = channel.size() > maxDiskBytes;
+
+        } catch (IOException e) {
+            // the memory tier still has the value; losing the disk copy is harmless
+            log.warn("Could not write to cache file {}: {}", file, e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+            channelLock.readLock().unlock();
+        }
+
+        if (full) compactIfFull();
+    }
+
+    public long hitCount() {
+        return memory.hitCount() + diskHits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long hits = hitCount();
+        long total = hits + missCount();
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    public long diskBytes() {
+        channelLock.readLock().lock();
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return 0;
+        } finally {
+            channelLock.readLock().unlock();
+        }
+    }
+
+    public int diskEntries() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public PersistentTtlCache<V> registerMetrics(MeterRegistry registry, String name) {
+
+        memory.registerMetrics(registry, name + ".memory");
+
+        FunctionCounter.builder(name + ".hits", this, PersistentTtlCache::hitCount).register(registry);
+        FunctionCounter.builder(name + ".misses", this, PersistentTtlCache::missCount).register(registry);
+        Gauge.builder(name + ".hit.ratio", this, PersistentTtlCache::hitRatio).register(registry);
+        Gauge.builder(name + ".disk.bytes", this, PersistentTtlCache::diskBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(name + ".disk.entries", this, PersistentTtlCache::diskEntries).register(registry);
+
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channelLock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            channelLock.writeLock().unlock();
+        }
+    }
+
+    // The slot is looked up under lock, but the positional read and decoding run
+    // outside it; the read side of channelLock keeps the slot's file in place.
+    private Optional<V> readFromDisk(String key) {
+
+        byte[] line;
+
+        channelLock.readLock().lock();
+        try {
+            Slot slot = liveSlot(key);
+            if (slot == null) return Optional.empty();
+
+            line = read(slot);
+
+        } catch (IOException e) {
+            log.warn("Could not read {} from cache file {}: {}", key, file, e.getMessage());
+            return Optional.empty();
+        } finally {
+            channelLock.readLock().unlock();
+        }
+
+        try {
+            DiskRecord record = mapper.readValue(line, DiskRecord.class);
+            return Optional.of(mapper.treeToValue(record.value(), type));
+        } catch (IOException e) {
+            log.warn("Could not decode {} from cache file {}: {}", key, file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Slot liveSlot(String key) {
+
+        lock.lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null || slot.expiresAt() > System.currentTimeMillis()) return slot;
+
+            index.remove(key);
+            liveBytes -= slot.length();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] read(Slot slot) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(slot.length());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, slot.offset() + buffer.position()) < 0) break;
+        }
+        return buffer.array();
+    }
+
+    private Duration remaining(String key) {
+
+        lock.lock();
+        try {
+            Slot slot = index.get(key);
+            return slot == null ? Duration.ZERO : Duration.ofMillis(slot.expiresAt() - System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Scans the file once, keeping the last unexpired record per key
+    private void load() throws IOException {
+
+        long now = System.currentTimeMillis();
+        long offset = 0;
+
+        try (InputStream in = Channels.newInputStream(channel.position(0))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] chunk = new byte[64 * 1024];
+            int read;
+
+            while ((read = in.read(chunk)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    line.write(chunk[i]);
+                    if (chunk[i] != '\n') continue;
+
+                    index(line.toByteArray(), offset, now);
+                    offset += line.size();
+                    line.reset();
+                }
+            }
+        }
+        // the stream closed the channel along with it
+        channel = open();
+    }
+
+    private void index(byte[] line, long offset, long now) {
+        try {
+            DiskRecord record = mapper.readValue(line, DiskRecord.class);
+
+            Slot previous = index.remove(record.key());
+            if (previous != null) liveBytes -= previous.length();
+
+            if (record.expiresAt() > now) {
+                index.put(record.key(), new Slot(offset, line.length, record.expiresAt()));
+                liveBytes += line.length;
+            }
+        } catch (IOException e) {
+            log.warn("Skipping unreadable record at offset {} in {}", offset, file);
+        }
+    }
+
+    // Another put may have compacted while this one waited for the write lock
+    private void compactIfFull() {
+
+        channelLock.writeLock().lock();
+        lock.lock();
+        try {
+            if (channel.size() > maxDiskBytes) compact();
+        } catch (IOException e) {
+            log.warn("Could not compact cache file {}: {}", file, e.getMessage());
+        } finally {
+            lock.unlock();
+            channelLock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write side of channelLock (or are the constructor).
+    // Rewrites only live records; if they still don't fit, the ones expiring
+    // soonest are dropped until the file is back under three quarters of the limit.
+    private void compact() throws IOException {
+
+        long now = System.currentTimeMillis();
+        index.values().removeIf(slot -> slot.expiresAt() <= now);
+
+        List<Map.Entry<String, Slot>> live = new ArrayList<>(index.entrySet());
+        live.sort(Comparator.comparingLong((Map.Entry<String, Slot> e) -> e.getValue().expiresAt()).reversed());
+
+        long budget = maxDiskBytes * 3 / 4;
+        long kept = 0;
+        Map<String, Slot> compacted = new HashMap<>();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            for (Map.Entry<String, Slot> entry : live) {
+                Slot slot = entry.getValue();
+                if (kept + slot.length() > budget) continue;
+
+                ByteBuffer buffer = ByteBuffer.wrap(read(slot));
+
+                compacted.put(entry.getKey(), new Slot(kept, slot.length(), slot.expiresAt()));
+                while (buffer.hasRemaining()) out.write(buffer);
+                kept += slot.length();
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open();
+
+        index.clear();
+        index.putAll(compacted);
+        liveBytes = kept;
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private byte[] encode(DiskRecord record) throws IOException {
+
+        byte[] json = mapper.writeValueAsBytes(record);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+
+        return line;
+    }
+
+    private record Slot(long offset, int length, long expiresAt) {
+    }
+
+    private record DiskRecord(String key, long expiresAt, JsonNode value) {
+    }
+}
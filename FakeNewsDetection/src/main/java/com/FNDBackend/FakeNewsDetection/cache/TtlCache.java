@@ -0,0 +1,138 @@
+package com.FNDBackend.FakeNewsDetection.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded LRU map with per-entry expiry. Oldest entries are evicted once
+// maxSize is reached; expired entries are dropped when they are read.
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final Duration ttl;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    public Optional<V> get(K key) {
+
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+
+            if (entry == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+
+            if (entry.expiresAt - now <= 0) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return Optional.empty();
+            }
+
+            hits.increment();
+            return Optional.of(entry.value);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttl);
+    }
+
+    public void put(K key, V value, Duration entryTtl) {
+
+        if (maxSize <= 0 || entryTtl.isNegative() || entryTtl.isZero()) return;
+
+        long expiresAt = System.nanoTime() + entryTtl.toNanos();
+
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, expiresAt));
+
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public TtlCache<K, V> registerMetrics(MeterRegistry registry, String name) {
+
+        FunctionCounter.builder(name + ".hits", this, TtlCache::hitCount).register(registry);
+        FunctionCounter.builder(name + ".misses", this, TtlCache::missCount).register(registry);
+        FunctionCounter.builder(name + ".evictions", this, TtlCache::evictionCount).register(registry);
+        Gauge.builder(name + ".size", this, TtlCache::size).register(registry);
+
+        return this;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.FNDBackend.FakeNewsDetection.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+// Scheduling drives the background re-verification worker
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // Same switch Spring Boot uses for Tomcat and its own executors
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Bounded pool for queued verification jobs; submissions beyond the
+    // queue capacity are rejected instead of piling up. With virtual threads
+    // the bound still applies, it just no longer costs a platform thread each.
+    @Bean
+    public ThreadPoolTaskExecutor verificationExecutor(
+            @Value("${verification.jobs.pool-size:8}") int poolSize,
+            @Value("${verification.jobs.queue-capacity:500}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("verify-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("verify-", 0).factory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Where reactive pipelines run their blocking JPA calls
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler() {
+        return virtualThreads
+                ? Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "blocking-virtual")
+                : Schedulers.newBoundedElastic(
+                        Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                        Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                        "blocking");
+    }
+}
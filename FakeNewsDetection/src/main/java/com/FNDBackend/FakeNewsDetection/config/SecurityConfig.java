@@ -1,6 +1,7 @@
 package com.FNDBackend.FakeNewsDetection.config;
 
 import com.FNDBackend.FakeNewsDetection.JwtSecurity.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,10 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Mono/Flux/SseEmitter responses finish on an ASYNC dispatch. The JWT
+                        // filter only runs on the original request and the context isn't
+                        // stored anywhere, so re-authorizing that dispatch would always fail.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/v1/users/register", "/api/v1/users/login").permitAll()
                         .requestMatchers("/api/v1/users/**").authenticated()
                         .requestMatchers("/api/v1/messages/**").authenticated()
@@ -0,0 +1,145 @@
+package com.FNDBackend.FakeNewsDetection.config;
+
+import com.FNDBackend.FakeNewsDetection.cache.PersistentTtlCache;
+import com.FNDBackend.FakeNewsDetection.dto.FactCheckResponse;
+import com.FNDBackend.FakeNewsDetection.dto.SearchResponse;
+import com.FNDBackend.FakeNewsDetection.upstream.UpstreamGuard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// One breaker/bulkhead per Google API so a slow upstream can't starve the others
+@Configuration
+public class UpstreamConfig {
+
+    @Value("${upstream.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${upstream.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${upstream.factcheck.max-concurrent:20}")
+    private int factCheckMaxConcurrent;
+
+    @Value("${upstream.search.max-concurrent:20}")
+    private int searchMaxConcurrent;
+
+    @Value("${upstream.gemini.max-concurrent:10}")
+    private int geminiMaxConcurrent;
+
+    @Value("${upstream.http.pending-acquire-max:100}")
+    private int pendingAcquireMax;
+
+    @Value("${upstream.http.acquire-timeout:2s}")
+    private Duration acquireTimeout;
+
+    @Value("${upstream.http.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${upstream.http.response-timeout:20s}")
+    private Duration responseTimeout;
+
+    @Value("${upstream.http.max-idle-time:55s}")
+    private Duration maxIdleTime;
+
+    @Value("${upstream.http.max-life-time:10m}")
+    private Duration maxLifeTime;
+
+    @Value("${evidence-cache.dir:./data/evidence-cache}")
+    private Path evidenceCacheDir;
+
+    @Value("${evidence-cache.memory-entries:5000}")
+    private int evidenceCacheMemoryEntries;
+
+    @Value("${evidence-cache.max-disk-mb:64}")
+    private long evidenceCacheMaxDiskMb;
+
+    @Bean
+    public UpstreamGuard factCheckGuard(MeterRegistry registry) {
+        return new UpstreamGuard("factcheck", failureThreshold, openDuration, factCheckMaxConcurrent, registry);
+    }
+
+    @Bean
+    public UpstreamGuard searchGuard(MeterRegistry registry) {
+        return new UpstreamGuard("search", failureThreshold, openDuration, searchMaxConcurrent, registry);
+    }
+
+    @Bean
+    public UpstreamGuard geminiGuard(MeterRegistry registry) {
+        return new UpstreamGuard("gemini", failureThreshold, openDuration, geminiMaxConcurrent, registry);
+    }
+
+    // One pool per Google host, sized to that upstream's bulkhead so a permit
+    // never waits on a connection. Pool gauges (active, idle, pending) are
+    // published as reactor.netty.connection.provider.* tagged by remote address.
+    // Idle connections are closed before Google's own ~60s keep-alive cutoff.
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider() {
+        return ConnectionProvider.builder("google-upstream")
+                .maxConnections(Math.max(factCheckMaxConcurrent, Math.max(searchMaxConcurrent, geminiMaxConcurrent)))
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .forRemoteHost(googleHost("factchecktools.googleapis.com"),
+                        spec -> spec.maxConnections(factCheckMaxConcurrent))
+                .forRemoteHost(googleHost("www.googleapis.com"),
+                        spec -> spec.maxConnections(searchMaxConcurrent))
+                .forRemoteHost(googleHost("generativelanguage.googleapis.com"),
+                        spec -> spec.maxConnections(geminiMaxConcurrent))
+                .build();
+    }
+
+    // Shared by the fact check, search and Gemini calls. HTTP/2 is negotiated
+    // over ALPN and falls back to HTTP/1.1; responses are requested gzipped.
+    @Bean
+    public WebClient upstreamWebClient(WebClient.Builder builder, ConnectionProvider upstreamConnectionProvider) {
+
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .secure()
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private static InetSocketAddress googleHost(String host) {
+        return InetSocketAddress.createUnresolved(host, 443);
+    }
+
+    // Fact Check and Custom Search answers change slowly; cached per query
+    // in memory and on disk so restarts don't go back to Google for them
+    @Bean(destroyMethod = "close")
+    public PersistentTtlCache<FactCheckResponse> factCheckCache(ObjectMapper mapper, MeterRegistry registry,
+                                                                @Value("${evidence-cache.factcheck.ttl:24h}") Duration ttl) {
+        return new PersistentTtlCache<>(evidenceCacheDir.resolve("factcheck.jsonl"), FactCheckResponse.class, mapper,
+                evidenceCacheMemoryEntries, ttl, evidenceCacheMaxDiskMb * 1024 * 1024)
+                .registerMetrics(registry, "evidence.cache.factcheck");
+    }
+
+    @Bean(destroyMethod = "close")
+    public PersistentTtlCache<SearchResponse> searchCache(ObjectMapper mapper, MeterRegistry registry,
+                                                          @Value("${evidence-cache.search.ttl:6h}") Duration ttl) {
+        return new PersistentTtlCache<>(evidenceCacheDir.resolve("search.jsonl"), SearchResponse.class, mapper,
+                evidenceCacheMemoryEntries, ttl, evidenceCacheMaxDiskMb * 1024 * 1024)
+                .registerMetrics(registry, "evidence.cache.search");
+    }
+}
@@ -1,5 +1,6 @@
 package com.FNDBackend.FakeNewsDetection.controller;
 
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackBulkResponseDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackRequestDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackStatsDTO;
@@ -22,6 +23,11 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.addOrUpdateFeedBack(feedBackRequestDTO));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<FeedBackBulkResponseDTO> bulkUpdateFeedback(@RequestBody List<FeedBackRequestDTO> votes) {
+        return ResponseEntity.ok(feedbackService.bulkAddOrUpdateFeedBack(votes));
+    }
+
     @GetMapping("/stats/{mgId}")
     public ResponseEntity<FeedBackStatsDTO> stats(@PathVariable Long mgId) {
         FeedBackStatsDTO stats = feedbackService.getFeedBackStats(mgId);
@@ -29,14 +35,18 @@ public class FeedbackController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<FeedBackResponseDTO>> getFeedBackByUser(@PathVariable Long userId) {
-        List<FeedBackResponseDTO> feedBackResponseDTOS = feedbackService.getFeedBackByUser(userId);
+    public ResponseEntity<List<FeedBackResponseDTO>> getFeedBackByUser(@PathVariable Long userId,
+                                                                       @RequestParam(required = false) Long afterId,
+                                                                       @RequestParam(required = false) Integer size) {
+        List<FeedBackResponseDTO> feedBackResponseDTOS = feedbackService.getFeedBackByUser(userId, afterId, size);
         return ResponseEntity.ok(feedBackResponseDTOS);
     }
 
     @GetMapping("/message/{mgID}")
-    public ResponseEntity<List<FeedBackResponseDTO>> getFeedBackByMessage(@PathVariable Long mgID) {
-        List<FeedBackResponseDTO>  feedBackResponseDTOS = feedbackService.getFeedBackByMessage(mgID);
+    public ResponseEntity<List<FeedBackResponseDTO>> getFeedBackByMessage(@PathVariable Long mgID,
+                                                                          @RequestParam(required = false) Long afterId,
+                                                                          @RequestParam(required = false) Integer size) {
+        List<FeedBackResponseDTO>  feedBackResponseDTOS = feedbackService.getFeedBackByMessage(mgID, afterId, size);
         return ResponseEntity.ok(feedBackResponseDTOS);
     }
 
@@ -2,14 +2,39 @@
 package com.FNDBackend.FakeNewsDetection.controller;
 
 
+import com.FNDBackend.FakeNewsDetection.dto.BatchVerifyRequestDTO;
+import com.FNDBackend.FakeNewsDetection.dto.BatchVerifyResultDTO;
+import com.FNDBackend.FakeNewsDetection.dto.EvidenceDTO;
 import com.FNDBackend.FakeNewsDetection.dto.MessageRequestDTO;
 import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
 import com.FNDBackend.FakeNewsDetection.model.Message;
 import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.dto.TrendingClaimDTO;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationJobDTO;
+import com.FNDBackend.FakeNewsDetection.service.EvidenceService;
 import com.FNDBackend.FakeNewsDetection.service.MessageService;
+import com.FNDBackend.FakeNewsDetection.service.TrendingService;
+import com.FNDBackend.FakeNewsDetection.service.VerificationJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/messages")
@@ -18,18 +43,94 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private VerificationJobService verificationJobService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @Value("${verification.jobs.retry-after:5s}")
+    private Duration retryAfter;
+
     // Verify or fetch message
     @PostMapping("/verify")
-    public ResponseEntity<MessageRespDto> verifyMessage(
+    public Mono<ResponseEntity<MessageRespDto>> verifyMessage(
             @RequestBody MessageRequestDTO request) {
 
-        MessageRespDto response =
-                messageService.processMessage(
+        return messageService.processMessageAsync(
                         request.getContent(),
                         request.getUserId()
-                );
+                )
+                .map(ResponseEntity::ok);
+    }
+
+    // Stream Gemini output as Server-Sent Events, then the final result
+    @PostMapping(value = "/verify/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> verifyMessageStream(
+            @RequestBody MessageRequestDTO request) {
+
+        return messageService.processMessageStream(
+                request.getContent(),
+                request.getUserId()
+        );
+    }
+
+    // Verify many claims; one NDJSON line per claim, in completion order
+    @PostMapping(value = "/verify/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchVerifyResultDTO> verifyBatch(
+            @RequestBody BatchVerifyRequestDTO request) {
+
+        return messageService.processBatch(
+                request.getContents(),
+                request.getUserId()
+        );
+    }
+
+    // Queue a verification and return immediately with the job id
+    @PostMapping("/verify/async")
+    public ResponseEntity<VerificationJobDTO> verifyMessageAsync(
+            @RequestBody MessageRequestDTO request) {
+
+        VerificationJobDTO job = verificationJobService.submit(
+                request.getContent(),
+                request.getUserId()
+        );
+
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/messages/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // Poll a verification job
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<VerificationJobDTO> getJob(
+            @PathVariable UUID jobId) {
+
+        return ResponseEntity.ok(
+                verificationJobService.getJob(jobId)
+        );
+    }
+
+    // Server-Sent Events: one event when the job is done or failed
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter jobEvents(
+            @PathVariable UUID jobId) {
 
-        return ResponseEntity.ok(response);
+        return verificationJobService.subscribe(jobId);
+    }
+
+    // Most-voted claims right now, served from memory
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingClaimDTO>> getTrending(
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                trendingService.top(limit)
+        );
     }
 
     // Get message by ID
@@ -42,6 +143,19 @@ public class MessageController {
         );
     }
 
+    // A user's verified claims, newest first (keyset: beforeDate + beforeId of the last item)
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<MessageRespDto>> getHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Integer size) {
+
+        return ResponseEntity.ok(
+                messageService.getHistory(userId, beforeDate, beforeId, size)
+        );
+    }
+
     // Delete message
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteMessage(
@@ -51,6 +165,27 @@ public class MessageController {
         return ResponseEntity.ok("Message deleted successfully");
     }
 
+    // Bulk purge by author and/or age (olderThan = yyyy-MM-dd), admins only
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/purge")
+    public ResponseEntity<String> purgeMessages(
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate olderThan) {
+
+        long purged = messageService.purgeMessages(authorId, olderThan);
+        return ResponseEntity.ok("Purged " + purged + " messages");
+    }
+
+    // Fact-check and search evidence the verdict was based on
+    @GetMapping("/{id}/evidence")
+    public ResponseEntity<EvidenceDTO> getEvidence(
+            @PathVariable Long id) {
+
+        return ResponseEntity.ok(
+                evidenceService.getEvidence(id)
+        );
+    }
+
     // Get dynamic confidence
     @GetMapping("/{id}/confidence")
     public ResponseEntity<Double> getConfidence(
@@ -60,4 +195,14 @@ public class MessageController {
                 messageService.calculateConfidence(id)
         );
     }
+
+    // A full worker queue is temporary overload, not a server error
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> verificationQueueFull(RejectedExecutionException e) {
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()))
+                .body("Verification queue is full, try again later");
+    }
 }
@@ -0,0 +1,11 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchVerifyRequestDTO {
+    private Long userId;
+    private List<String> contents;
+}
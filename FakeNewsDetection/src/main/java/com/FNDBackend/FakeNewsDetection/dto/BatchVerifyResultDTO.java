@@ -0,0 +1,17 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchVerifyResultDTO {
+    // position of the claim in the request list
+    private int index;
+    private MessageRespDto result;
+    private String error;
+}
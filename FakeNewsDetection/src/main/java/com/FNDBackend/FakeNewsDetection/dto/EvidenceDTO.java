@@ -0,0 +1,17 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceDTO {
+    private Long messageId;
+    private FactCheckResponse factCheckResponse;
+    private SearchResponse searchResponse;
+    private LocalDateTime fetchedAt;
+}
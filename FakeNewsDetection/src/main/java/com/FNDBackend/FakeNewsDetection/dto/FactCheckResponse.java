@@ -1,5 +1,6 @@
 package com.FNDBackend.FakeNewsDetection.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import java.util.List;
 
@@ -8,6 +9,16 @@ public class FactCheckResponse {
 
     private List<Claim> claims;
 
+    // stand-in served when the call failed or was rejected; never serialized
+    @JsonIgnore
+    private boolean unavailable;
+
+    public static FactCheckResponse unavailable() {
+        FactCheckResponse response = new FactCheckResponse();
+        response.setUnavailable(true);
+        return response;
+    }
+
     @Data
     public static class Claim {
 
@@ -0,0 +1,12 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FeedBackBulkResponseDTO {
+    private int accepted;
+    private int rejected;
+    private List<FeedBackBulkResultDTO> results;
+}
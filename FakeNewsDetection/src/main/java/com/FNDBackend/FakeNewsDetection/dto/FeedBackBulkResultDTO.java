@@ -0,0 +1,17 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedBackBulkResultDTO {
+    // position of the vote in the request list
+    private int index;
+    // CREATED, UPDATED or REJECTED
+    private String status;
+    private Long feedbackId;
+    private String error;
+}
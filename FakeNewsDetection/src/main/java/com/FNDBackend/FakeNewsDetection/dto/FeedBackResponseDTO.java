@@ -1,10 +1,14 @@
 package com.FNDBackend.FakeNewsDetection.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class FeedBackResponseDTO {
     private Long id;
     private Long userId;
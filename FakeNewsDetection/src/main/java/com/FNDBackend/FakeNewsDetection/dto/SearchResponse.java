@@ -1,5 +1,6 @@
 package com.FNDBackend.FakeNewsDetection.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,16 @@ import java.util.List;
 public class SearchResponse {
     private List<SearchItem> items;
 
+    // stand-in served when the call failed or was rejected; never serialized
+    @JsonIgnore
+    private boolean unavailable;
+
+    public static SearchResponse unavailable() {
+        SearchResponse response = new SearchResponse();
+        response.setUnavailable(true);
+        return response;
+    }
+
 
     @Data
     @NoArgsConstructor
@@ -0,0 +1,14 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingClaimDTO {
+    private Long messageId;
+    // new votes, each weighted down by its age (halves every trending.half-life)
+    private double score;
+}
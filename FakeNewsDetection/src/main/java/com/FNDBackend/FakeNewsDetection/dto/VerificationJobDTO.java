@@ -0,0 +1,21 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VerificationJobDTO {
+    private UUID id;
+    private String status;
+    private Long messageId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // set once the job is DONE
+    private MessageRespDto result;
+}
@@ -0,0 +1,23 @@
+package com.FNDBackend.FakeNewsDetection.dto;
+
+import lombok.Data;
+
+// One element of a streamed verification: either a piece of Gemini output
+// text, or the final parsed result once the stream has ended.
+@Data
+public class VerificationUpdate {
+    private String delta;
+    private VerificationResult result;
+
+    public static VerificationUpdate delta(String text) {
+        VerificationUpdate update = new VerificationUpdate();
+        update.setDelta(text);
+        return update;
+    }
+
+    public static VerificationUpdate result(VerificationResult result) {
+        VerificationUpdate update = new VerificationUpdate();
+        update.setResult(result);
+        return update;
+    }
+}
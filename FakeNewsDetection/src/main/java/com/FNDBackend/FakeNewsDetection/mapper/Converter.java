@@ -3,9 +3,11 @@ import com.FNDBackend.FakeNewsDetection.dto.FeedBackRequestDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO;
 import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
 import com.FNDBackend.FakeNewsDetection.dto.UserResponseDTO;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationJobDTO;
 import com.FNDBackend.FakeNewsDetection.model.Feedback;
 import com.FNDBackend.FakeNewsDetection.model.Message;
 import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.model.VerificationJob;
 
 
 
@@ -40,5 +42,16 @@ public class Converter {
         return feedBackResponseDTO;
     }
 
+    public static VerificationJobDTO convertJob(VerificationJob job) {
+        VerificationJobDTO verificationJobDTO = new VerificationJobDTO();
+        verificationJobDTO.setId(job.getId());
+        verificationJobDTO.setStatus(job.getStatus());
+        verificationJobDTO.setMessageId(job.getMessageId());
+        verificationJobDTO.setError(job.getError());
+        verificationJobDTO.setCreatedAt(job.getCreatedAt());
+        verificationJobDTO.setCompletedAt(job.getCompletedAt());
+        return verificationJobDTO;
+    }
+
 
 }
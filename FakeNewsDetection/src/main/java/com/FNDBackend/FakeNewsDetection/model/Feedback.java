@@ -8,19 +8,28 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "message_id"}),
+        indexes = {
+                // keyset pages: WHERE message_id = ? AND id > ? ORDER BY id
+                @Index(name = "idx_feedback_message_id", columnList = "message_id, id"),
+                @Index(name = "idx_feedback_user_id", columnList = "user_id, id")
+        })
 public class Feedback {
+    // Sequence ids (allocated 50 at a time) let Hibernate batch inserts; IDENTITY can't
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedback_seq")
+    @SequenceGenerator(name = "feedback_seq", sequenceName = "feedback_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // Lazy: listings only need the ids, which the proxies carry without a query
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     //true = like , false = dislike
     private Boolean liked;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "message_id")
     private Message message;
 
@@ -2,11 +2,22 @@ package com.FNDBackend.FakeNewsDetection.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_fingerprint", columnList = "fingerprint"),
+        @Index(name = "idx_messages_content_hash_author", columnList = "content_hash, author_id"),
+        @Index(name = "idx_messages_author_created", columnList = "author_id, created_at, id"),
+        // re-verification picks PENDING and old verdicts
+        @Index(name = "idx_messages_verdict", columnList = "verdict"),
+        @Index(name = "idx_messages_verified_at", columnList = "verified_at")
+})
 @Data
+// counters are changed by bulk updates, so entity saves must only write dirty columns
+@DynamicUpdate
 public class Message {
 
     @Id
@@ -18,6 +29,13 @@ public class Message {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // SHA-256 of the raw content; exact lookups go through this instead of the TEXT column
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // SHA-256 of the normalized content, see ClaimFingerprint
+    @Column(length = 64)
+    private String fingerprint;
 
     private String verdict;
 
@@ -28,14 +46,30 @@ public class Message {
     @Column(columnDefinition = "TEXT")
     private String summary;
 
+    // Materialized feedback counters, kept in step by FeedbackService
+    @Column(nullable = false)
+    private long likeCount;
+
+    @Column(nullable = false)
+    private long dislikeCount;
+
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private User author;
 
     @Column(updatable = false)
     private LocalDate createdAt;
 
+    // When the verdict was last produced; old verdicts are re-verified
+    private LocalDateTime verifiedAt;
+
+    // Failed re-verification attempts in a row, and when to try again
+    @Column(nullable = false)
+    private int retryCount;
+
+    private LocalDateTime nextRetryAt;
+
     @PrePersist
     public void onCreate() {
         this.createdAt = LocalDate.now();
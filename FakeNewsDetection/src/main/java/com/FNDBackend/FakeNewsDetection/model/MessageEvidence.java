@@ -0,0 +1,29 @@
+package com.FNDBackend.FakeNewsDetection.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Upstream evidence a verdict was based on. Kept out of the messages table so
+// message reads never load it. Messages that reused another message's verdict
+// hold a reference to that message's row instead of their own data.
+@Entity
+@Table(name = "message_evidence", indexes = {
+        @Index(name = "idx_message_evidence_source", columnList = "source_message_id")
+})
+@Data
+public class MessageEvidence {
+
+    // same id as the message it belongs to
+    @Id
+    private Long messageId;
+
+    // gzip-compressed JSON of EvidenceDTO; null for references
+    private byte[] data;
+
+    // message whose data this row shares; always a row that has data
+    private Long sourceMessageId;
+
+    private LocalDateTime fetchedAt;
+}
@@ -36,6 +36,11 @@ public class User implements UserDetails {
     @Column(updatable = false)
     private LocalDate creationDate;
 
+    // USER or ADMIN; admins are promoted directly in the users table
+    @NotBlank
+    @Column(nullable = false)
+    private String role = "USER";
+
     @PrePersist
     public void onCreate() {
         this.creationDate = LocalDate.now();
@@ -43,7 +48,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
     }
 
     @Override
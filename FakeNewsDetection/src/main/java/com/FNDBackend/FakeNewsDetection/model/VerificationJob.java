@@ -0,0 +1,41 @@
+package com.FNDBackend.FakeNewsDetection.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "verification_jobs")
+@Data
+public class VerificationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    private Long userId;
+
+    // PENDING -> RUNNING -> DONE / FAILED
+    private String status;
+
+    private Long messageId;
+
+    // exception messages (upstream bodies included) easily exceed varchar(255)
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
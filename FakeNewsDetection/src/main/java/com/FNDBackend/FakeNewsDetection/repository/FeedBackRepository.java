@@ -1,20 +1,70 @@
 package com.FNDBackend.FakeNewsDetection.repository;
 
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO;
 import com.FNDBackend.FakeNewsDetection.model.Feedback;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface FeedBackRepository extends JpaRepository<Feedback,Long> {
 
-    Optional<Feedback> findByUserIdAndMessageId(Long userID, Long messageId);
+    // Row-locked reads for vote changes: the counters are adjusted from the
+    // previous vote, so a concurrent change must wait until this one commits.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Feedback f where f.user.id = :userId and f.message.id = :messageId")
+    Optional<Feedback> findForUpdate(@Param("userId") Long userId, @Param("messageId") Long messageId);
 
-    Long countByMessageIdAndLiked(Long messageID, boolean b);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Feedback f where f.id = :id")
+    Optional<Feedback> findByIdForUpdate(@Param("id") Long id);
 
 
-    List<Feedback> findByMessageId(Long messageID);
+    // Keyset pages projected straight into the response DTO, no entities loaded
+    @Query("select new com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO(f.id, f.user.id, f.message.id, f.liked, f.date) " +
+            "from Feedback f where f.message.id = :messageId and f.id > :afterId order by f.id")
+    List<FeedBackResponseDTO> findPageByMessageId(@Param("messageId") Long messageId,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
 
-    List<Feedback> findByUserId(Long userID);
+    @Query("select new com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO(f.id, f.user.id, f.message.id, f.liked, f.date) " +
+            "from Feedback f where f.user.id = :userId and f.id > :afterId order by f.id")
+    List<FeedBackResponseDTO> findPageByUserId(@Param("userId") Long userId,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Modifying
+    @Query("delete from Feedback f where f.message.id = :messageId")
+    int deleteAllByMessageId(@Param("messageId") Long messageId);
+
+    @Modifying
+    @Query("delete from Feedback f where f.message.id in :messageIds")
+    int deleteAllByMessageIdIn(@Param("messageIds") Collection<Long> messageIds);
+
+    // New votes per message and day, for rebuilding trending scores
+    @Query("select f.message.id as messageId, f.date as date, count(f) as votes " +
+            "from Feedback f where f.date >= :since group by f.message.id, f.date")
+    List<DailyVotesView> countVotesByDaySince(@Param("since") LocalDate since);
+
+    interface DailyVotesView {
+        Long getMessageId();
+        LocalDate getDate();
+        Long getVotes();
+    }
+
+    // Superset of the (user, message) pairs in a bulk request; callers filter the exact pairs.
+    // Locked like findForUpdate, in id order so concurrent bulk requests don't deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Feedback f where f.user.id in :userIds and f.message.id in :messageIds order by f.id")
+    List<Feedback> findByUserIdsAndMessageIds(@Param("userIds") Collection<Long> userIds,
+                                              @Param("messageIds") Collection<Long> messageIds);
 }
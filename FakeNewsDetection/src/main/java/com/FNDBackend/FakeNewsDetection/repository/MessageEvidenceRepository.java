@@ -0,0 +1,69 @@
+package com.FNDBackend.FakeNewsDetection.repository;
+
+import com.FNDBackend.FakeNewsDetection.model.MessageEvidence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface MessageEvidenceRepository extends JpaRepository<MessageEvidence, Long> {
+
+    // Row that actually holds the data for this message's evidence
+    @Query("select coalesce(e.sourceMessageId, e.messageId) from MessageEvidence e where e.messageId = :messageId")
+    Optional<Long> findOwnerId(@Param("messageId") Long messageId);
+
+    @Modifying
+    @Query("update MessageEvidence e set e.sourceMessageId = :ownerId where e.sourceMessageId = :messageId")
+    int repointReferences(@Param("messageId") Long messageId, @Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("delete from MessageEvidence e where e.messageId in :messageIds")
+    int deleteAllByMessageIdIn(@Param("messageIds") Collection<Long> messageIds);
+
+    // Copies of a claim re-verified together (same fingerprint and verifiedAt):
+    // rows referencing one of them follow it to the new owner...
+    @Modifying
+    @Query(value = "update message_evidence set source_message_id = :ownerId " +
+            "where source_message_id in (select m.id from messages m " +
+            "where m.fingerprint = :fingerprint and m.verified_at = :verifiedAt and m.id <> :ownerId)",
+            nativeQuery = true)
+    int repointClaimReferences(@Param("ownerId") Long ownerId,
+                               @Param("fingerprint") String fingerprint,
+                               @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    // ...then each copy becomes a reference to it, dropping any data of its own
+    @Modifying
+    @Query(value = "insert into message_evidence (message_id, source_message_id) " +
+            "select m.id, :ownerId from messages m " +
+            "where m.fingerprint = :fingerprint and m.verified_at = :verifiedAt and m.id <> :ownerId " +
+            "on conflict (message_id) do update set source_message_id = excluded.source_message_id, " +
+            "data = null, fetched_at = null",
+            nativeQuery = true)
+    int saveClaimReferences(@Param("ownerId") Long ownerId,
+                            @Param("fingerprint") String fingerprint,
+                            @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    // Before owners are deleted: the lowest surviving reference to each owner
+    // becomes the new owner, and the other references are pointed at it...
+    @Modifying
+    @Query(value = "update message_evidence r set source_message_id = (" +
+            "select min(x.message_id) from message_evidence x " +
+            "where x.source_message_id = r.source_message_id and x.message_id not in (:messageIds)) " +
+            "where r.source_message_id in (:messageIds) and r.message_id not in (:messageIds) " +
+            "and r.message_id > (select min(x.message_id) from message_evidence x " +
+            "where x.source_message_id = r.source_message_id and x.message_id not in (:messageIds))",
+            nativeQuery = true)
+    int repointReferencesToSurvivors(@Param("messageIds") Collection<Long> messageIds);
+
+    // ...then takes over the owner's data
+    @Modifying
+    @Query(value = "update message_evidence r set data = o.data, fetched_at = o.fetched_at, source_message_id = null " +
+            "from message_evidence o where r.source_message_id = o.message_id " +
+            "and o.message_id in (:messageIds) and r.message_id not in (:messageIds)",
+            nativeQuery = true)
+    int promoteReferences(@Param("messageIds") Collection<Long> messageIds);
+}
@@ -1,12 +1,147 @@
 package com.FNDBackend.FakeNewsDetection.repository;
 
 import com.FNDBackend.FakeNewsDetection.model.Message;
-import com.FNDBackend.FakeNewsDetection.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface MessageRepository extends JpaRepository<Message,Long> {
 
-    Optional<Message> findByContentAndAuthor(String content, User user);
+    // author is fetched in the same query because responses show name and email
+    @EntityGraph(attributePaths = "author")
+    List<Message> findByContentHashAndAuthorId(String contentHash, Long authorId);
+
+    @EntityGraph(attributePaths = "author")
+    Optional<Message> findWithAuthorById(Long id);
+
+    // History pages, newest first; a page continues strictly after (beforeDate, beforeId)
+    @EntityGraph(attributePaths = "author")
+    @Query("select m from Message m where m.author.id = :authorId " +
+            "order by m.createdAt desc, m.id desc")
+    List<Message> findHistory(@Param("authorId") Long authorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("select m from Message m where m.author.id = :authorId " +
+            "and (m.createdAt < :beforeDate or (m.createdAt = :beforeDate and m.id < :beforeId)) " +
+            "order by m.createdAt desc, m.id desc")
+    List<Message> findHistoryBefore(@Param("authorId") Long authorId,
+                                    @Param("beforeDate") LocalDate beforeDate,
+                                    @Param("beforeId") Long beforeId,
+                                    Pageable pageable);
+
+    Optional<Message> findFirstByFingerprintAndVerdictNotOrderByIdDesc(String fingerprint, String verdict);
+
+    @Query("select m.id from Message m where m.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Message m set m.likeCount = m.likeCount + :likes, " +
+            "m.dislikeCount = m.dislikeCount + :dislikes where m.id = :id")
+    int adjustFeedbackCounts(@Param("id") Long id,
+                             @Param("likes") long likes,
+                             @Param("dislikes") long dislikes);
+
+    @Query("select m.likeCount as likes, m.dislikeCount as dislikes from Message m where m.id = :id")
+    Optional<FeedbackCountView> findFeedbackCounts(@Param("id") Long id);
+
+    @Query("select m.fingerprint from Message m where m.id = :id")
+    Optional<String> findFingerprintById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Message m where m.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Purge candidates, one bounded chunk at a time
+    List<PurgeView> findByAuthorIdOrderById(Long authorId, Pageable pageable);
+
+    List<PurgeView> findByCreatedAtBeforeOrderById(LocalDate before, Pageable pageable);
+
+    List<PurgeView> findByAuthorIdAndCreatedAtBeforeOrderById(Long authorId, LocalDate before, Pageable pageable);
+
+    // Keyset scan used to build the near-duplicate index
+    @Query("select m.id as id, m.content as content from Message m " +
+            "where m.id > :afterId and m.verdict <> :excluded order by m.id")
+    List<ContentView> findContentAfter(@Param("afterId") Long afterId,
+                                       @Param("excluded") String excludedVerdict,
+                                       Pageable pageable);
+
+    // Claims due for re-verification: PENDING or older than staleBefore, and not
+    // backing off. PENDING rows come first so new claims never wait behind old verdicts.
+    @Query("select m.id as id, m.content as content, m.fingerprint as fingerprint, m.retryCount as retryCount " +
+            "from Message m where (m.verdict = :pending or m.verifiedAt < :staleBefore) " +
+            "and (m.nextRetryAt is null or m.nextRetryAt <= :now) " +
+            "order by case when m.verdict = :pending then 0 else 1 end, m.id")
+    List<ReverifyView> findDueForReverification(@Param("pending") String pending,
+                                                @Param("staleBefore") LocalDateTime staleBefore,
+                                                @Param("now") LocalDateTime now,
+                                                Pageable pageable);
+
+    // Claim-wide re-verification outcome: the given rows plus every other copy of
+    // the claim that is PENDING or older than staleBefore, whichever batch it
+    // would have fallen in. Rows stored without a fingerprint are given one.
+    @Modifying
+    @Query("update Message m set m.fingerprint = :fingerprint, m.verdict = :verdict, m.confidence = :confidence, " +
+            "m.summary = :summary, m.verifiedAt = :verifiedAt, m.retryCount = 0, m.nextRetryAt = null " +
+            "where m.id in :ids or (m.fingerprint = :fingerprint " +
+            "and (m.verdict = :pending or m.verifiedAt < :staleBefore))")
+    int applyClaimVerdict(@Param("fingerprint") String fingerprint,
+                          @Param("ids") Collection<Long> ids,
+                          @Param("pending") String pending,
+                          @Param("staleBefore") LocalDateTime staleBefore,
+                          @Param("verdict") String verdict,
+                          @Param("confidence") Integer confidence,
+                          @Param("summary") String summary,
+                          @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    @Modifying
+    @Query("update Message m set m.verdict = :verdict, m.confidence = :confidence, m.summary = :summary, " +
+            "m.verifiedAt = :verifiedAt, m.retryCount = 0, m.nextRetryAt = null where m.id = :id")
+    int applyVerdict(@Param("id") Long id,
+                     @Param("verdict") String verdict,
+                     @Param("confidence") Integer confidence,
+                     @Param("summary") String summary,
+                     @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    @Modifying
+    @Query("update Message m set m.fingerprint = :fingerprint, m.retryCount = :retryCount, m.nextRetryAt = :nextRetryAt " +
+            "where m.id in :ids or (m.fingerprint = :fingerprint " +
+            "and (m.verdict = :pending or m.verifiedAt < :staleBefore))")
+    int scheduleClaimRetry(@Param("fingerprint") String fingerprint,
+                           @Param("ids") Collection<Long> ids,
+                           @Param("pending") String pending,
+                           @Param("staleBefore") LocalDateTime staleBefore,
+                           @Param("retryCount") int retryCount,
+                           @Param("nextRetryAt") LocalDateTime nextRetryAt);
+
+    interface FeedbackCountView {
+        long getLikes();
+        long getDislikes();
+    }
+
+    interface PurgeView {
+        Long getId();
+        String getFingerprint();
+    }
+
+    interface ContentView {
+        Long getId();
+        String getContent();
+    }
+
+    interface ReverifyView {
+        Long getId();
+        String getContent();
+        String getFingerprint();
+        int getRetryCount();
+    }
 }
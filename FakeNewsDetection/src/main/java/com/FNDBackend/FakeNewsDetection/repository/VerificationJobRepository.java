@@ -0,0 +1,13 @@
+package com.FNDBackend.FakeNewsDetection.repository;
+
+import com.FNDBackend.FakeNewsDetection.model.VerificationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface VerificationJobRepository extends JpaRepository<VerificationJob, UUID> {
+
+    List<VerificationJob> findByStatusIn(Collection<String> statuses);
+}
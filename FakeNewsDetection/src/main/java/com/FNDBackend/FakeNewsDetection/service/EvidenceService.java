@@ -0,0 +1,136 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.EvidenceDTO;
+import com.FNDBackend.FakeNewsDetection.dto.FactCheckResponse;
+import com.FNDBackend.FakeNewsDetection.dto.SearchResponse;
+import com.FNDBackend.FakeNewsDetection.model.MessageEvidence;
+import com.FNDBackend.FakeNewsDetection.repository.MessageEvidenceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Stores the Fact Check / Custom Search responses behind each verdict as one
+// gzip-compressed JSON blob, so sources can be shown and claims re-scored
+// without going back to Google.
+@Service
+public class EvidenceService {
+
+    @Autowired
+    private MessageEvidenceRepository evidenceRepository;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    // A half served by the UpstreamGuard fallback carries no evidence: it is
+    // not stored, and doesn't replace what an earlier verification stored.
+    public void save(Long messageId, FactCheckResponse fact, SearchResponse search) {
+
+        FactCheckResponse storedFact = fact != null && !fact.isUnavailable() ? fact : null;
+        SearchResponse storedSearch = search != null && !search.isUnavailable() ? search : null;
+
+        if (storedFact == null && storedSearch == null) return;
+
+        if (storedFact == null || storedSearch == null) {
+            Optional<EvidenceDTO> previous = find(messageId);
+            if (storedFact == null) storedFact = previous.map(EvidenceDTO::getFactCheckResponse).orElse(null);
+            if (storedSearch == null) storedSearch = previous.map(EvidenceDTO::getSearchResponse).orElse(null);
+        }
+        MessageEvidence evidence = new MessageEvidence();
+        evidence.setMessageId(messageId);
+        evidence.setData(compress(new EvidenceDTO(null, storedFact, storedSearch, null)));
+        evidence.setFetchedAt(LocalDateTime.now());
+
+        evidenceRepository.save(evidence);
+    }
+
+    // A reused verdict shares the evidence of the message it was copied from
+    // rather than storing it again. No-op when that message has none. Rows
+    // that referenced this message follow it, so references stay one hop.
+    @Transactional
+    public void saveReference(Long messageId, Long sourceMessageId) {
+
+        evidenceRepository.findOwnerId(sourceMessageId)
+                .filter(ownerId -> !ownerId.equals(messageId))
+                .ifPresent(ownerId -> {
+                    MessageEvidence evidence = new MessageEvidence();
+                    evidence.setMessageId(messageId);
+                    evidence.setSourceMessageId(ownerId);
+
+                    evidenceRepository.save(evidence);
+                    evidenceRepository.repointReferences(messageId, ownerId);
+                });
+    }
+
+    // saveReference for every copy of a claim re-verified in one statement
+    // (same fingerprint, stamped with the same verifiedAt), in two set-based statements.
+    @Transactional
+    public void saveClaimReferences(Long sourceMessageId, String fingerprint, LocalDateTime verifiedAt) {
+
+        evidenceRepository.findOwnerId(sourceMessageId).ifPresent(ownerId -> {
+            evidenceRepository.repointClaimReferences(ownerId, fingerprint, verifiedAt);
+            evidenceRepository.saveClaimReferences(ownerId, fingerprint, verifiedAt);
+        });
+    }
+
+    public Optional<EvidenceDTO> find(Long messageId) {
+
+        return evidenceRepository.findById(messageId)
+                .flatMap(evidence -> evidence.getSourceMessageId() == null
+                        ? Optional.of(evidence)
+                        : evidenceRepository.findById(evidence.getSourceMessageId()))
+                .filter(evidence -> evidence.getData() != null)
+                .map(evidence -> {
+                    EvidenceDTO dto = decompress(evidence.getData());
+                    dto.setMessageId(messageId);
+                    dto.setFetchedAt(evidence.getFetchedAt());
+                    return dto;
+                });
+    }
+
+    public EvidenceDTO getEvidence(Long messageId) {
+        return find(messageId)
+                .orElseThrow(() -> new RuntimeException("Evidence not found"));
+    }
+
+    // References to deleted rows are handed the data first, so other users'
+    // copies of a verdict keep their evidence. Three set-based statements.
+    @Transactional
+    public void deleteByMessages(Collection<Long> messageIds) {
+        evidenceRepository.repointReferencesToSurvivors(messageIds);
+        evidenceRepository.promoteReferences(messageIds);
+        evidenceRepository.deleteAllByMessageIdIn(messageIds);
+    }
+
+    private byte[] compress(EvidenceDTO evidence) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, evidence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private EvidenceDTO decompress(byte[] data) {
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return mapper.readValue(in, EvidenceDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
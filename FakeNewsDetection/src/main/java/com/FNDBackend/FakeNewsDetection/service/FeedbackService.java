@@ -1,24 +1,40 @@
 package com.FNDBackend.FakeNewsDetection.service;
 
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackBulkResponseDTO;
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackBulkResultDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackRequestDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackStatsDTO;
 import com.FNDBackend.FakeNewsDetection.mapper.Converter;
 import com.FNDBackend.FakeNewsDetection.model.Feedback;
 import com.FNDBackend.FakeNewsDetection.model.Message;
-import com.FNDBackend.FakeNewsDetection.model.User;
 import com.FNDBackend.FakeNewsDetection.repository.FeedBackRepository;
 import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 @Service
@@ -33,48 +49,217 @@ public class FeedbackService {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${feedback.bulk.max-items:5000}")
+    private int bulkMaxItems;
+
+    @Value("${feedback.page.default-size:50}")
+    private int pageDefaultSize;
+
+    @Value("${feedback.page.max-size:200}")
+    private int pageMaxSize;
+
     public FeedBackResponseDTO addOrUpdateFeedBack(FeedBackRequestDTO dto) {
+        return retryOnDuplicateVote(status -> saveVote(dto));
+    }
 
-        User user = userService.findById(dto.getUserID())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private FeedBackResponseDTO saveVote(FeedBackRequestDTO dto) {
 
-        Message message = messageRepository.findById(dto.getMessageId())
-                .orElseThrow(() -> new RuntimeException("Message not found"));
+        // Existence checks only; the new row just needs references to both
+        if (!userService.existsById(dto.getUserID())) throw new RuntimeException("User not found");
+        if (!messageRepository.existsById(dto.getMessageId())) throw new RuntimeException("Message not found");
 
         Optional<Feedback> existing =
-                feedBackRepository.findByUserIdAndMessageId(
+                feedBackRepository.findForUpdate(
                         dto.getUserID(),
                         dto.getMessageId()
                 );
 
         Feedback feedback;
+        Boolean previous = null;
 
         if (existing.isPresent()) {
             feedback = existing.get();
+            previous = feedback.getLiked();
             feedback.setLiked(dto.getLiked());
         } else {
             feedback = new Feedback();
-            feedback.setUser(user);
-            feedback.setMessage(message);
+            feedback.setUser(userService.getReference(dto.getUserID()));
+            feedback.setMessage(messageRepository.getReferenceById(dto.getMessageId()));
             feedback.setLiked(dto.getLiked());
         }
 
         Feedback saved = feedBackRepository.save(feedback);
 
+        adjustCounts(dto.getMessageId(), previous, dto.getLiked());
+
+        // only first votes count as engagement; flipping a vote does not
+        if (existing.isEmpty()) recordVotesAfterCommit(Map.of(dto.getMessageId(), 1L));
+
         return Converter.feedBackResponseDTO(saved);
     }
 
-    public FeedBackStatsDTO getFeedBackStats(Long messageId) {
+    // Users, messages and existing votes are resolved with one query each;
+    // inserts/updates go out as JDBC batches and counters get one UPDATE per message.
+    public FeedBackBulkResponseDTO bulkAddOrUpdateFeedBack(List<FeedBackRequestDTO> votes) {
+        return retryOnDuplicateVote(status -> saveVotes(votes));
+    }
+
+    private FeedBackBulkResponseDTO saveVotes(List<FeedBackRequestDTO> votes) {
+
+        if (votes.size() > bulkMaxItems) {
+            throw new RuntimeException("Too many votes in one request (max " + bulkMaxItems + ")");
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> messageIds = new HashSet<>();
+
+        for (FeedBackRequestDTO vote : votes) {
+            if (vote.getUserID() != null) userIds.add(vote.getUserID());
+            if (vote.getMessageId() != null) messageIds.add(vote.getMessageId());
+        }
+
+        Set<Long> knownUsers = userIds.isEmpty() ? Set.of() : userService.findExistingIds(userIds);
+        Set<Long> knownMessages = messageIds.isEmpty() ? Set.of() : messageRepository.findExistingIds(messageIds);
+
+        Map<VoteKey, Feedback> feedbacks = new HashMap<>();
+        Map<VoteKey, Boolean> previousVotes = new HashMap<>();
+
+        if (!knownUsers.isEmpty() && !knownMessages.isEmpty()) {
+            for (Feedback existing : feedBackRepository.findByUserIdsAndMessageIds(knownUsers, knownMessages)) {
+                VoteKey key = new VoteKey(existing.getUser().getId(), existing.getMessage().getId());
+                feedbacks.put(key, existing);
+                previousVotes.put(key, existing.getLiked());
+            }
+        }
+
+        List<FeedBackBulkResultDTO> results = new ArrayList<>(votes.size());
+        Map<Integer, VoteKey> accepted = new LinkedHashMap<>();
+        List<Feedback> created = new ArrayList<>();
+
+        for (int i = 0; i < votes.size(); i++) {
+            FeedBackRequestDTO vote = votes.get(i);
+
+            String error = vote.getUserID() == null || !knownUsers.contains(vote.getUserID()) ? "User not found"
+                    : vote.getMessageId() == null || !knownMessages.contains(vote.getMessageId()) ? "Message not found"
+                    : null;
+
+            if (error != null) {
+                results.add(new FeedBackBulkResultDTO(i, "REJECTED", null, error));
+                continue;
+            }
+
+            VoteKey key = new VoteKey(vote.getUserID(), vote.getMessageId());
+            Feedback feedback = feedbacks.get(key);
+            String status = "UPDATED";
+
+            if (feedback == null) {
+                feedback = new Feedback();
+                feedback.setUser(userService.getReference(vote.getUserID()));
+                feedback.setMessage(messageRepository.getReferenceById(vote.getMessageId()));
+                feedbacks.put(key, feedback);
+                created.add(feedback);
+                status = "CREATED";
+            }
+            feedback.setLiked(vote.getLiked());
+
+            results.add(new FeedBackBulkResultDTO(i, status, null, null));
+            accepted.put(i, key);
+        }
+
+        feedBackRepository.saveAll(created);
+
+        accepted.forEach((index, key) -> results.get(index).setFeedbackId(feedbacks.get(key).getId()));
+
+        // net change per message across all votes in the request
+        // [likes, dislikes, new votes]
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (Map.Entry<VoteKey, Feedback> entry : feedbacks.entrySet()) {
+            Boolean before = previousVotes.get(entry.getKey());
+            Boolean after = entry.getValue().getLiked();
+
+            long[] delta = deltas.computeIfAbsent(entry.getKey().messageId(), id -> new long[3]);
+            delta[0] += vote(after, true) - vote(before, true);
+            delta[1] += vote(after, false) - vote(before, false);
+            if (!previousVotes.containsKey(entry.getKey())) delta[2]++;
+        }
+        Map<Long, Long> newVotes = new HashMap<>();
+        deltas.forEach((messageId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                messageRepository.adjustFeedbackCounts(messageId, delta[0], delta[1]);
+            }
+            if (delta[2] != 0) newVotes.put(messageId, delta[2]);
+        });
+        recordVotesAfterCommit(newVotes);
+
+        FeedBackBulkResponseDTO response = new FeedBackBulkResponseDTO();
+        response.setAccepted(accepted.size());
+        response.setRejected(votes.size() - accepted.size());
+        response.setResults(results);
+        return response;
+    }
 
-        if (!messageRepository.existsById(messageId)) {
-            throw new RuntimeException("Message not found");
+    // A first vote has no row to lock yet, so the same user's concurrent first
+    // votes can both insert and one fails on the unique (user, message)
+    // constraint. Postgres aborts that transaction, so the request is replayed
+    // in a new one, where it finds the other request's row and updates it.
+    private <T> T retryOnDuplicateVote(TransactionCallback<T> work) {
+        try {
+            return transactionTemplate.execute(work);
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(work);
         }
+    }
+
+    private record VoteKey(Long userId, Long messageId) {
+    }
+
+    // Trending is in memory and can't roll back, so it only sees committed votes
+    private void recordVotesAfterCommit(Map<Long, Long> newVotes) {
+
+        if (newVotes.isEmpty()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                newVotes.forEach(trendingService::recordVotes);
+            }
+        });
+    }
+
+    // Moves one vote from `before` to `after` (null = no vote) on the message row
+    private void adjustCounts(Long messageId, Boolean before, Boolean after) {
+
+        long likes = vote(after, true) - vote(before, true);
+        long dislikes = vote(after, false) - vote(before, false);
+
+        if (likes != 0 || dislikes != 0) {
+            messageRepository.adjustFeedbackCounts(messageId, likes, dislikes);
+        }
+    }
+
+    private static long vote(Boolean liked, boolean value) {
+        return liked != null && liked == value ? 1 : 0;
+    }
 
-        long likes =
-                feedBackRepository.countByMessageIdAndLiked(messageId, true);
+    public FeedBackStatsDTO getFeedBackStats(Long messageId) {
+
+        MessageRepository.FeedbackCountView counts = messageRepository.findFeedbackCounts(messageId)
+                .orElseThrow(() -> new RuntimeException("Message not found"));
+
+        return buildStats(messageId, counts.getLikes(), counts.getDislikes());
+    }
+
+    public FeedBackStatsDTO getFeedBackStats(Message message) {
+        return buildStats(message.getId(), message.getLikeCount(), message.getDislikeCount());
+    }
 
-        long dislikes =
-                feedBackRepository.countByMessageIdAndLiked(messageId, false);
+    private FeedBackStatsDTO buildStats(Long messageId, long likes, long dislikes) {
 
         long total = likes + dislikes;
 
@@ -91,39 +276,50 @@ public class FeedbackService {
         return dto;
     }
 
-    public List<FeedBackResponseDTO> getFeedBackByUser(Long userId) {
+    // Pages are ordered by id; pass the last id of one page as afterId to get the next
+    public List<FeedBackResponseDTO> getFeedBackByUser(Long userId, Long afterId, Integer size) {
 
-        if (!userService.findById(userId).isPresent()) {
+        if (!userService.existsById(userId)) {
             throw new RuntimeException("User not found");
         }
 
-        return feedBackRepository.findByUserId(userId)
-                .stream()
-                .map(Converter::feedBackResponseDTO)
-                .toList();
+        return feedBackRepository.findPageByUserId(userId, cursor(afterId), page(size));
     }
 
-    public List<FeedBackResponseDTO> getFeedBackByMessage(Long messageId) {
+    public List<FeedBackResponseDTO> getFeedBackByMessage(Long messageId, Long afterId, Integer size) {
 
         if (!messageRepository.existsById(messageId)) throw new RuntimeException("Message not found");
 
-        return feedBackRepository.findByMessageId(messageId)
-                .stream()
-                .map(Converter::feedBackResponseDTO)
-                .toList();
+        return feedBackRepository.findPageByMessageId(messageId, cursor(afterId), page(size));
     }
 
+    private long cursor(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    private Pageable page(Integer size) {
+
+        int requested = size != null ? size : pageDefaultSize;
+        return PageRequest.of(0, Math.max(1, Math.min(requested, pageMaxSize)));
+    }
+
+    @Transactional
     public void deleteFeedBack(Long feedbackId) {
 
-        Feedback feedback = feedBackRepository.findById(feedbackId)
+        Feedback feedback = feedBackRepository.findByIdForUpdate(feedbackId)
                 .orElseThrow(() -> new RuntimeException("Feedback not found"));
 
         feedBackRepository.delete(feedback);
+
+        adjustCounts(feedback.getMessage().getId(), feedback.getLiked(), null);
     }
 
+    // Single DELETE statements; no Feedback entities are loaded
     public void deleteByMessage(Long messageId) {
-        feedBackRepository.deleteAll(
-                feedBackRepository.findByMessageId(messageId)
-        );
+        feedBackRepository.deleteAllByMessageId(messageId);
+    }
+
+    public void deleteByMessages(Collection<Long> messageIds) {
+        feedBackRepository.deleteAllByMessageIdIn(messageIds);
     }
 }
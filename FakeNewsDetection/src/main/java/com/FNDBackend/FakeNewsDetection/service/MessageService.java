@@ -1,26 +1,46 @@
 package com.FNDBackend.FakeNewsDetection.service;
 
+import com.FNDBackend.FakeNewsDetection.dto.BatchVerifyResultDTO;
 import com.FNDBackend.FakeNewsDetection.dto.FeedBackStatsDTO;
 import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
 import com.FNDBackend.FakeNewsDetection.dto.VerificationResult;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationUpdate;
 import com.FNDBackend.FakeNewsDetection.mapper.Converter;
 import com.FNDBackend.FakeNewsDetection.model.Message;
 import com.FNDBackend.FakeNewsDetection.model.User;
 import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.service.VerdictCacheService.CachedVerdict;
+import com.FNDBackend.FakeNewsDetection.util.ClaimFingerprint;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class MessageService {
 
-    @Autowired
-    private MessageRepository messageRepository;
+    private static final String VERIFICATION_FAILED = "Verification failed";
+    private static final String VERIFICATION_RUNNING = "Verification is still running; the verdict will be updated shortly";
 
     @Autowired
-    private VerificationService verificationService;
+    private MessageRepository messageRepository;
 
     @Autowired
     private UserService userService;
@@ -28,48 +48,281 @@ public class MessageService {
     @Autowired
     private FeedbackService feedbackService;
 
+    @Autowired
+    private VerdictCacheService verdictCacheService;
+
+    @Autowired
+    private VerificationCoalescer verificationCoalescer;
+
+    @Autowired
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Scheduler blockingScheduler;
+
+    @Value("${message.history.default-size:20}")
+    private int historyDefaultSize;
+
+    @Value("${message.history.max-size:100}")
+    private int historyMaxSize;
+
+    @Value("${message.purge.chunk-size:1000}")
+    private int purgeChunkSize;
+
+    @Value("${verification.batch.max-items:500}")
+    private int batchMaxItems;
+
+    @Value("${verification.batch.concurrency:4}")
+    private int batchConcurrency;
+
     public MessageRespDto processMessage(String content, Long userId) {
+        return processMessageAsync(content, userId).block();
+    }
+
+    // JPA work runs on blockingScheduler; while the upstream calls are in flight
+    // no thread is held for this request.
+    public Mono<MessageRespDto> processMessageAsync(String content, Long userId) {
+
+        return loadUser(userId)
+                .flatMap(user -> processForUser(content, user));
+    }
+
+    // Claims are streamed back as they finish, at most batchConcurrency in
+    // flight. Repeated claims in the batch are verified once.
+    public Flux<BatchVerifyResultDTO> processBatch(List<String> contents, Long userId) {
+
+        if (contents == null || contents.isEmpty()) {
+            throw new RuntimeException("No claims to verify");
+        }
+        if (contents.size() > batchMaxItems) {
+            throw new RuntimeException("Too many claims in one request (max " + batchMaxItems + ")");
+        }
+
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < contents.size(); i++) {
+            positions.computeIfAbsent(contents.get(i), c -> new ArrayList<>()).add(i);
+        }
+
+        return loadUser(userId)
+                .flatMapMany(user -> Flux.fromIterable(positions.entrySet())
+                        .flatMap(claim -> processForUser(claim.getKey(), user)
+                                .map(dto -> claim.getValue().stream()
+                                        .map(index -> new BatchVerifyResultDTO(index, dto, null))
+                                        .toList())
+                                .onErrorResume(e -> Mono.just(claim.getValue().stream()
+                                        .map(index -> new BatchVerifyResultDTO(index, null, e.getMessage()))
+                                        .toList())),
+                                batchConcurrency)
+                        .flatMapIterable(results -> results));
+    }
+
+    private Mono<User> loadUser(Long userId) {
+
+        return Mono.fromCallable(() -> userService.findById(userId)
+                        .orElseThrow(() -> new RuntimeException("User not found")))
+                .subscribeOn(blockingScheduler);
+    }
+
+    private Mono<MessageRespDto> processForUser(String content, User user) {
+
+        return Mono.fromCallable(() -> findOwnMessage(content, user))
+                .subscribeOn(blockingScheduler)
+                .flatMap(own -> own
+                        .map(Mono::just)
+                        .orElseGet(() -> resolveMessage(content, user)))
+                .map(this::buildResponse);
+    }
+
+    // Streaming variant: "delta" events carry Gemini output as it is generated,
+    // a final "result" event carries the saved message. Claims that are
+    // already known skip straight to the result, and a claim that is already
+    // being verified waits for that verification instead of opening a second stream.
+    public Flux<ServerSentEvent<Object>> processMessageStream(String content, Long userId) {
+
+        return loadUser(userId)
+                .flatMapMany(user -> {
+                    String fingerprint = ClaimFingerprint.of(content);
+
+                    Optional<Message> known = findOwnMessage(content, user)
+                            .or(() -> reuseVerdict(content, user, fingerprint));
+
+                    if (known.isPresent()) {
+                        return Flux.just(resultEvent(buildResponse(known.get())));
+                    }
+
+                    return verificationCoalescer.stream(fingerprint, content)
+                            .switchIfEmpty(Mono.fromSupplier(() ->
+                                    VerificationUpdate.result(pendingVerification(VERIFICATION_FAILED))))
+                            .onErrorResume(TimeoutException.class, e -> Mono.just(VerificationUpdate.result(
+                                    pendingVerification(VERIFICATION_RUNNING))))
+                            .publishOn(blockingScheduler)
+                            .map(update -> update.getResult() == null
+                                    ? ServerSentEvent.<Object>builder(update.getDelta()).event("delta").build()
+                                    : resultEvent(buildResponse(saveVerified(createMessage(content, user, fingerprint,
+                                            update.getResult().getVerdict(),
+                                            update.getResult().getConfidence(),
+                                            update.getResult().getSummary(), LocalDateTime.now()), update.getResult()))));
+                });
+    }
+
+    private ServerSentEvent<Object> resultEvent(MessageRespDto dto) {
+        return ServerSentEvent.<Object>builder(dto).event("result").build();
+    }
+
+    // Indexed digest lookup; the TEXT comparison only runs on the few rows
+    // sharing the digest.
+    private Optional<Message> findOwnMessage(String content, User user) {
+
+        return messageRepository
+                .findByContentHashAndAuthorId(ClaimFingerprint.contentHash(content), user.getId())
+                .stream()
+                .filter(message -> message.getContent().equals(content))
+                .findFirst();
+    }
 
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Another user may already have verified the same claim (or a close
+    // paraphrase of it); reuse that verdict and only go upstream when nobody has.
+    private Mono<Message> resolveMessage(String content, User user) {
 
-        Message message = messageRepository
-                .findByContentAndAuthor(content, user)
-                .orElseGet(() -> {
-                    Message newMessage = verifyAndCreate(content, user);
-                    return messageRepository.save(newMessage);
+        String fingerprint = ClaimFingerprint.of(content);
+
+        return reuseVerdict(content, user, fingerprint)
+                .map(Mono::just)
+                .orElseGet(() -> verifyAndCreate(content, user, fingerprint));
+    }
+
+    // The copy keeps the source's verifiedAt, so it goes stale (and gets
+    // re-verified) together with the verdict it was copied from, and shares
+    // the source's evidence.
+    private Optional<Message> reuseVerdict(String content, User user, String fingerprint) {
+
+        return verdictCacheService.get(fingerprint)
+                .or(() -> findNearDuplicate(content))
+                .map(verdict -> {
+                    Message saved = saveMessage(createMessage(content, user, fingerprint,
+                            verdict.verdict(), verdict.confidence(), verdict.summary(), verdict.verifiedAt()));
+                    evidenceService.saveReference(saved.getId(), verdict.messageId());
+                    return saved;
                 });
+    }
+
+    private Optional<CachedVerdict> findNearDuplicate(String content) {
+
+        return nearDuplicateIndex.findSimilar(content)
+                .flatMap(messageRepository::findById)
+                .filter(message -> !VerdictCacheService.PENDING.equals(message.getVerdict()))
+                .map(CachedVerdict::of);
+    }
 
-        return buildResponse(message);
+    // A waiter that times out still gets a message, saved as PENDING. The row
+    // follows the shared verification and takes its verdict when it finishes;
+    // if that fails, the re-verification job picks the row up.
+    private Mono<Message> verifyAndCreate(String content, User user, String fingerprint) {
+
+        return Mono.defer(() -> {
+            Mono<VerificationResult> verification = verificationCoalescer.join(fingerprint, content);
+            VerificationResult running = pendingVerification(VERIFICATION_RUNNING);
+
+            return verificationCoalescer.await(verification)
+                    .switchIfEmpty(Mono.fromSupplier(() -> pendingVerification(VERIFICATION_FAILED)))
+                    .onErrorResume(TimeoutException.class, e -> Mono.just(running))
+                    .publishOn(blockingScheduler)
+                    .map(result -> {
+                        Message saved = saveVerified(createMessage(content, user, fingerprint,
+                                result.getVerdict(), result.getConfidence(), result.getSummary(), LocalDateTime.now()), result);
+                        if (result == running) completeWhenVerified(saved, verification);
+                        return saved;
+                    });
+        });
     }
 
-    private Message verifyAndCreate(String content, User user) {
+    private void completeWhenVerified(Message pending, Mono<VerificationResult> verification) {
+
+        verification
+                .filter(result -> !VerdictCacheService.PENDING.equals(result.getVerdict()))
+                .publishOn(blockingScheduler)
+                .subscribe(result -> {
+                    LocalDateTime verifiedAt = LocalDateTime.now();
+                    Integer updated = transactionTemplate.execute(status -> messageRepository.applyVerdict(
+                            pending.getId(), result.getVerdict(), result.getConfidence(), result.getSummary(), verifiedAt));
+
+                    // deleted while it was waiting
+                    if (updated == null || updated == 0) return;
+
+                    pending.setVerdict(result.getVerdict());
+                    pending.setConfidence(result.getConfidence());
+                    pending.setSummary(result.getSummary());
+                    pending.setVerifiedAt(verifiedAt);
+
+                    verdictCacheService.put(pending);
+                    nearDuplicateIndex.add(pending);
+                    evidenceService.save(pending.getId(), result.getFactCheckResponse(), result.getSearchResponse());
+                }, e -> {
+                    // stays PENDING for the re-verification job
+                });
+    }
+
+    private VerificationResult pendingVerification(String summary) {
+
+        VerificationResult result = new VerificationResult();
+        result.setVerdict(VerdictCacheService.PENDING);
+        result.setConfidence(0);
+        result.setSummary(summary);
+
+        return result;
+    }
 
-        VerificationResult result = verificationService.verify(content);
+    private Message createMessage(String content, User user, String fingerprint,
+                                  String verdict, Integer confidence, String summary,
+                                  LocalDateTime verifiedAt) {
 
         Message message = new Message();
         message.setContent(content);
+        message.setContentHash(ClaimFingerprint.contentHash(content));
+        message.setFingerprint(fingerprint);
         message.setAuthor(user);
-
-        if (result != null) {
-            message.setVerdict(result.getVerdict());
-            message.setConfidence(result.getConfidence());
-            message.setSummary(result.getSummary());
-        } else {
-            message.setVerdict("PENDING");
-            message.setConfidence(0);
-            message.setSummary("Verification failed");
-        }
+        message.setVerdict(verdict);
+        message.setConfidence(confidence);
+        message.setSummary(summary);
+        message.setVerifiedAt(verifiedAt);
 
         return message;
     }
 
+    private Message saveMessage(Message message) {
+
+        Message saved = messageRepository.save(message);
+        verdictCacheService.put(saved);
+
+        return saved;
+    }
+
+    // Only freshly verified messages feed the near-duplicate index and store
+    // evidence of their own; reused verdicts reference the source's instead.
+    private Message saveVerified(Message message, VerificationResult result) {
+
+        Message saved = saveMessage(message);
+        nearDuplicateIndex.add(saved);
+        evidenceService.save(saved.getId(), result.getFactCheckResponse(), result.getSearchResponse());
+
+        return saved;
+    }
+
     private MessageRespDto buildResponse(Message message) {
 
         MessageRespDto dto = Converter.convertMessage(message);
 
         FeedBackStatsDTO stats =
-                feedbackService.getFeedBackStats(message.getId());
+                feedbackService.getFeedBackStats(message);
 
         dto.setFeedBackStatsDTO(stats);
 
@@ -86,17 +339,92 @@ public class MessageService {
     }
 
     public MessageRespDto getMessage(Long id) {
-
-        Message message = messageRepository.findById(id)
+        return findMessage(id)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
+    }
+
+    public Optional<MessageRespDto> findMessage(Long id) {
+        return messageRepository.findWithAuthorById(id)
+                .map(this::buildResponse);
+    }
+
+    // One query per page: feedback stats come from the counter columns on the
+    // same rows. Pass the last item's createdAt and id to get the next page.
+    public List<MessageRespDto> getHistory(Long userId, LocalDate beforeDate, Long beforeId, Integer size) {
+
+        if ((beforeDate == null) != (beforeId == null)) {
+            throw new RuntimeException("beforeDate and beforeId must be given together");
+        }
+        if (!userService.existsById(userId)) throw new RuntimeException("User not found");
 
-        return buildResponse(message);
+        int requested = size != null ? size : historyDefaultSize;
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(requested, historyMaxSize)));
+
+        List<Message> messages = beforeDate == null
+                ? messageRepository.findHistory(userId, page)
+                : messageRepository.findHistoryBefore(userId, beforeDate, beforeId, page);
+
+        return messages.stream()
+                .map(this::buildResponse)
+                .toList();
     }
 
+    @Transactional
     public void deleteMessage(Long messageId) {
 
+        messageRepository.findFingerprintById(messageId)
+                .ifPresent(verdictCacheService::invalidate);
+        nearDuplicateIndex.remove(messageId);
+        trendingService.remove(messageId);
+
         feedbackService.deleteByMessage(messageId);
-        messageRepository.deleteById(messageId);
+        evidenceService.deleteByMessages(List.of(messageId));
+        messageRepository.deleteAllByIdIn(List.of(messageId));
+    }
+
+    // Deletes matching messages and their feedback in chunks of purgeChunkSize,
+    // each chunk in its own short transaction.
+    public long purgeMessages(Long authorId, LocalDate olderThan) {
+
+        if (authorId == null && olderThan == null) {
+            throw new RuntimeException("authorId or olderThan is required");
+        }
+        if (olderThan != null && olderThan.isAfter(LocalDate.now())) {
+            throw new RuntimeException("olderThan must not be in the future");
+        }
+
+        Pageable chunk = PageRequest.of(0, purgeChunkSize);
+        long purged = 0;
+
+        while (true) {
+            List<MessageRepository.PurgeView> batch = transactionTemplate.execute(status -> {
+
+                List<MessageRepository.PurgeView> candidates =
+                        authorId == null ? messageRepository.findByCreatedAtBeforeOrderById(olderThan, chunk)
+                        : olderThan == null ? messageRepository.findByAuthorIdOrderById(authorId, chunk)
+                        : messageRepository.findByAuthorIdAndCreatedAtBeforeOrderById(authorId, olderThan, chunk);
+
+                if (candidates.isEmpty()) return candidates;
+
+                List<Long> ids = candidates.stream().map(MessageRepository.PurgeView::getId).toList();
+                feedbackService.deleteByMessages(ids);
+                evidenceService.deleteByMessages(ids);
+                messageRepository.deleteAllByIdIn(ids);
+
+                return candidates;
+            });
+
+            if (batch == null || batch.isEmpty()) break;
+
+            for (MessageRepository.PurgeView view : batch) {
+                verdictCacheService.invalidate(view.getFingerprint());
+                nearDuplicateIndex.remove(view.getId());
+                trendingService.remove(view.getId());
+            }
+            purged += batch.size();
+        }
+
+        return purged;
     }
 
     public Double calculateConfidence(Long id) {
@@ -109,7 +437,7 @@ public class MessageService {
     private double computeFinalConfidence(Message message) {
 
         FeedBackStatsDTO stats =
-                feedbackService.getFeedBackStats(message.getId());
+                feedbackService.getFeedBackStats(message);
 
         double aiConfidence = message.getConfidence() / 100.0;
         double userScore = stats.getLikePercent() / 100.0;
@@ -0,0 +1,227 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.util.MinHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory LSH index over verified message content. Signatures are split
+// into BANDS bands of ROWS rows; any shared band makes two claims candidates,
+// which are then checked against the similarity threshold.
+@Slf4j
+@Service
+public class NearDuplicateIndex {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = MinHash.NUM_HASHES / BANDS;
+
+    // Heap cost of one entry with compressed oops, when each of its band
+    // buckets holds only itself (the common case, and the most per id):
+    //   signature int[NUM_HASHES]                          16 + 4 * NUM_HASHES
+    //   LinkedHashMap entry + boxed Long key + table slot  40 + 24 + 8
+    //   per band: HashMap node + Long key + Bucket + long[1] + table slot
+    //                                                      32 + 24 + 24 + 24 + 8
+    // Table slots are averaged over the 0.75 load factor and doubling.
+    // NearDuplicateIndexTests checks this against the layout JOL measures.
+    static final int BYTES_PER_ENTRY =
+            (16 + 4 * MinHash.NUM_HASHES) + (40 + 24 + 8) + BANDS * (32 + 24 + 24 + 24 + 8);
+
+    private final MessageRepository messageRepository;
+    private final boolean enabled;
+    private final double threshold;
+    private final int maxEntries;
+    private final int loadBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // insertion ordered, so the eldest entry is evicted first when over budget
+    private final LinkedHashMap<Long, int[]> signatures = new LinkedHashMap<>();
+    private final List<Map<Long, Bucket>> buckets = new ArrayList<>(BANDS);
+
+    public NearDuplicateIndex(MessageRepository messageRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${near-duplicate.enabled:true}") boolean enabled,
+                              @Value("${near-duplicate.threshold:0.8}") double threshold,
+                              @Value("${near-duplicate.memory-budget-mb:256}") long memoryBudgetMb,
+                              @Value("${near-duplicate.load-batch-size:5000}") int loadBatchSize) {
+
+        this.messageRepository = messageRepository;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxEntries = (int) Math.min(Integer.MAX_VALUE, memoryBudgetMb * 1024 * 1024 / BYTES_PER_ENTRY);
+        this.loadBatchSize = loadBatchSize;
+
+        for (int i = 0; i < BANDS; i++) buckets.add(new HashMap<>());
+
+        meterRegistry.gauge("near-duplicate.index.size", signatures, Map::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        if (!enabled) return;
+
+        long lastId = 0;
+        int loaded = 0;
+
+        while (true) {
+            List<MessageRepository.ContentView> page = messageRepository
+                    .findContentAfter(lastId, VerdictCacheService.PENDING, PageRequest.of(0, loadBatchSize));
+
+            if (page.isEmpty()) break;
+
+            for (MessageRepository.ContentView view : page) {
+                add(view.getId(), view.getContent());
+            }
+
+            lastId = page.get(page.size() - 1).getId();
+            loaded += page.size();
+        }
+
+        log.info("Near-duplicate index built with {} messages (cap {})", loaded, maxEntries);
+    }
+
+    public void add(Message message) {
+
+        if (VerdictCacheService.PENDING.equals(message.getVerdict())) return;
+
+        add(message.getId(), message.getContent());
+    }
+
+    public void add(Long messageId, String content) {
+
+        if (!enabled || messageId == null) return;
+
+        int[] signature = MinHash.signature(content);
+        if (MinHash.isEmpty(signature)) return;
+
+        lock.writeLock().lock();
+        try {
+            if (signatures.containsKey(messageId)) return;
+
+            if (maxEntries <= 0) return;
+
+            Iterator<Long> eldest = signatures.keySet().iterator();
+            while (signatures.size() >= maxEntries && eldest.hasNext()) {
+                removeLocked(eldest.next());
+                eldest = signatures.keySet().iterator();
+            }
+
+            signatures.put(messageId, signature);
+
+            for (int band = 0; band < BANDS; band++) {
+                buckets.get(band).computeIfAbsent(bandKey(signature, band), key -> new Bucket()).add(messageId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long messageId) {
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(messageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Id of the most similar indexed message at or above the threshold
+    public Optional<Long> findSimilar(String content) {
+
+        if (!enabled) return Optional.empty();
+
+        int[] signature = MinHash.signature(content);
+        if (MinHash.isEmpty(signature)) return Optional.empty();
+
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            Long bestId = null;
+            double best = threshold;
+
+            for (int band = 0; band < BANDS; band++) {
+                Bucket bucket = buckets.get(band).get(bandKey(signature, band));
+                if (bucket == null) continue;
+
+                for (int i = 0; i < bucket.size; i++) {
+                    long id = bucket.ids[i];
+                    if (!seen.add(id)) continue;
+
+                    double similarity = MinHash.similarity(signature, signatures.get(id));
+                    if (similarity >= best) {
+                        best = similarity;
+                        bestId = id;
+                    }
+                }
+            }
+            return Optional.ofNullable(bestId);
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long messageId) {
+
+        int[] signature = signatures.remove(messageId);
+        if (signature == null) return;
+
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            Map<Long, Bucket> bandBuckets = buckets.get(band);
+
+            Bucket bucket = bandBuckets.get(key);
+            if (bucket != null && bucket.remove(messageId) && bucket.size == 0) bandBuckets.remove(key);
+        }
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x100000001B3L + signature[i];
+        }
+        return key;
+    }
+
+    // Ids sharing one band key. Grows by doubling, so hot buckets append in
+    // amortized constant time; order doesn't matter, so removal swaps in the last id.
+    private static final class Bucket {
+
+        private long[] ids = new long[1];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] != id) continue;
+                ids[i] = ids[--size];
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.VerificationResult;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository.ReverifyView;
+import com.FNDBackend.FakeNewsDetection.util.ClaimFingerprint;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Re-runs verification for PENDING verdicts (Gemini or an upstream failed)
+// and for verdicts older than staleAfter, a batch at a time. Each claim is
+// verified once and the outcome applied to all of its due copies, in this
+// batch or not. Failures back off exponentially per claim, and upstream calls
+// are paced to at most maxPerMinute across all batches.
+@Slf4j
+@Service
+public class ReverificationService {
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private VerificationCoalescer verificationCoalescer;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @Autowired
+    private VerdictCacheService verdictCacheService;
+
+    @Autowired
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reverification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reverification.batch-size:50}")
+    private int batchSize;
+
+    @Value("${reverification.stale-after:7d}")
+    private Duration staleAfter;
+
+    @Value("${reverification.max-per-minute:30}")
+    private int maxPerMinute;
+
+    @Value("${reverification.initial-backoff:1m}")
+    private Duration initialBackoff;
+
+    @Value("${reverification.max-backoff:6h}")
+    private Duration maxBackoff;
+
+    @Autowired
+    @Qualifier("verificationExecutor")
+    private ThreadPoolTaskExecutor verificationExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private long nextSlot = System.nanoTime();
+
+    // A pass blocks on upstream calls and waits for rate slots, so it runs on
+    // the verification pool instead of the scheduler thread every @Scheduled
+    // task shares. A pass still running when the next one is due is not doubled up.
+    @Scheduled(initialDelayString = "${reverification.interval:PT1M}",
+            fixedDelayString = "${reverification.interval:PT1M}")
+    public void reverifyDue() {
+
+        if (!enabled || !running.compareAndSet(false, true)) return;
+
+        try {
+            verificationExecutor.execute(() -> {
+                try {
+                    reverifyBatch();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            log.warn("Re-verification pass skipped: verification queue is full");
+        }
+    }
+
+    void reverifyBatch() {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(staleAfter);
+        List<ReverifyView> due = messageRepository.findDueForReverification(
+                VerdictCacheService.PENDING, staleBefore, now, PageRequest.of(0, batchSize));
+
+        if (due.isEmpty()) return;
+
+        Map<String, List<ReverifyView>> claims = new LinkedHashMap<>();
+        for (ReverifyView view : due) {
+            String fingerprint = view.getFingerprint() != null
+                    ? view.getFingerprint()
+                    : ClaimFingerprint.of(view.getContent());
+            claims.computeIfAbsent(fingerprint, f -> new ArrayList<>()).add(view);
+        }
+
+        int updated = 0;
+        for (Map.Entry<String, List<ReverifyView>> claim : claims.entrySet()) {
+            try {
+                awaitSlot();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (reverify(claim.getKey(), claim.getValue(), staleBefore)) updated++;
+        }
+
+        log.info("Re-verified {} claims ({} messages): {} updated, {} backing off",
+                claims.size(), due.size(), updated, claims.size() - updated);
+    }
+
+    private boolean reverify(String fingerprint, List<ReverifyView> messages, LocalDateTime staleBefore) {
+
+        List<Long> ids = messages.stream().map(ReverifyView::getId).toList();
+        VerificationResult result = null;
+
+        try {
+            result = verificationCoalescer.verify(fingerprint, messages.get(0).getContent()).block();
+        } catch (RuntimeException e) {
+            log.warn("Re-verification of {} failed: {}", fingerprint, e.getMessage());
+        }
+
+        if (result == null || VerdictCacheService.PENDING.equals(result.getVerdict())) {
+            scheduleRetry(fingerprint, ids, messages, staleBefore);
+            meterRegistry.counter("reverification.claims", "outcome", "retry").increment();
+            return false;
+        }
+
+        // the copies updated here are found again by this exact timestamp
+        VerificationResult verified = result;
+        LocalDateTime verifiedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Long first = ids.get(0);
+
+        // one stored copy of the evidence per claim, referenced by the rest
+        Integer copies = transactionTemplate.execute(status -> {
+            int rows = messageRepository.applyClaimVerdict(fingerprint, ids, VerdictCacheService.PENDING, staleBefore,
+                    verified.getVerdict(), verified.getConfidence(), verified.getSummary(), verifiedAt);
+            evidenceService.save(first, verified.getFactCheckResponse(), verified.getSearchResponse());
+            evidenceService.saveClaimReferences(first, fingerprint, verifiedAt);
+            return rows;
+        });
+        for (ReverifyView message : messages) nearDuplicateIndex.add(message.getId(), message.getContent());
+        verdictCacheService.invalidate(fingerprint);
+
+        meterRegistry.counter("reverification.claims", "outcome", "updated").increment();
+        meterRegistry.counter("reverification.messages").increment(copies == null ? 0 : copies);
+        return true;
+    }
+
+    // initialBackoff doubled per earlier failure, capped at maxBackoff; every
+    // due copy of the claim waits the same time
+    private void scheduleRetry(String fingerprint, List<Long> ids, List<ReverifyView> messages,
+                               LocalDateTime staleBefore) {
+
+        int attempts = messages.stream().mapToInt(ReverifyView::getRetryCount).max().orElse(0);
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts, 30));
+        if (backoff.compareTo(maxBackoff) > 0) backoff = maxBackoff;
+
+        LocalDateTime nextRetryAt = LocalDateTime.now().plus(backoff);
+        transactionTemplate.executeWithoutResult(status -> messageRepository.scheduleClaimRetry(
+                fingerprint, ids, VerdictCacheService.PENDING, staleBefore, attempts + 1, nextRetryAt));
+    }
+
+    // Global rate cap: upstream verifications start at least 60s / maxPerMinute apart.
+    // Thread.sleep(Duration) needs JDK 21 (java.version in the pom). With
+    // spring.threads.virtual.enabled the verification pool runs on virtual
+    // threads (AsyncConfig), and the wait parks without a carrier.
+    private void awaitSlot() throws InterruptedException {
+
+        long gap = Duration.ofMinutes(1).toNanos() / Math.max(1, maxPerMinute);
+        long now = System.nanoTime();
+        long wait = nextSlot - now;
+
+        if (wait > 0) Thread.sleep(Duration.ofNanos(wait));
+        nextSlot = Math.max(now, nextSlot) + gap;
+    }
+}
@@ -0,0 +1,172 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.TrendingClaimDTO;
+import com.FNDBackend.FakeNewsDetection.repository.FeedBackRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Most-voted claims right now, kept in memory. Uses forward decay: a vote
+// cast at time t is stored with weight e^(rate * (t - landmark)), so stored
+// weights never need to be decayed and their order stays valid; reads divide
+// by e^(rate * (now - landmark)). Only the maxTracked heaviest claims are kept.
+@Slf4j
+@Service
+public class TrendingService {
+
+    // rescale before the weights get anywhere near double overflow
+    private static final double MAX_EXPONENT = 200;
+
+    private final FeedBackRepository feedBackRepository;
+    private final double ratePerMilli;
+    private final int maxTracked;
+    private final int maxLimit;
+    private final int rebuildDays;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(Comparator
+            .comparingDouble(Entry::weight).reversed()
+            .thenComparing(Entry::messageId));
+    private long landmark = System.currentTimeMillis();
+
+    public TrendingService(FeedBackRepository feedBackRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${trending.half-life:6h}") Duration halfLife,
+                           @Value("${trending.max-tracked:10000}") int maxTracked,
+                           @Value("${trending.max-limit:100}") int maxLimit,
+                           @Value("${trending.rebuild-days:7}") int rebuildDays) {
+
+        this.feedBackRepository = feedBackRepository;
+        this.ratePerMilli = Math.log(2) / halfLife.toMillis();
+        this.maxTracked = maxTracked;
+        this.maxLimit = maxLimit;
+        this.rebuildDays = rebuildDays;
+
+        meterRegistry.gauge("trending.tracked", entries, Map::size);
+    }
+
+    // Feedback only stores the vote date, so rebuilt votes are placed at midday
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        List<FeedBackRepository.DailyVotesView> days =
+                feedBackRepository.countVotesByDaySince(LocalDate.now().minusDays(rebuildDays));
+
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            entries.clear();
+            ranking.clear();
+            landmark = now;
+
+            for (FeedBackRepository.DailyVotesView day : days) {
+                long at = day.getDate().atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                add(day.getMessageId(), day.getVotes(), Math.min(at, now));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.info("Trending rebuilt from {} days of feedback: {} claims", rebuildDays, entries.size());
+    }
+
+    public void recordVotes(Long messageId, long votes) {
+
+        if (votes <= 0) return;
+
+        lock.lock();
+        try {
+            add(messageId, votes, System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long messageId) {
+
+        lock.lock();
+        try {
+            Entry entry = entries.remove(messageId);
+            if (entry != null) ranking.remove(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TrendingClaimDTO> top(Integer limit) {
+
+        int size = Math.max(1, Math.min(limit != null ? limit : 10, maxLimit));
+        List<TrendingClaimDTO> top = new ArrayList<>(size);
+
+        lock.lock();
+        try {
+            double scale = Math.exp(-ratePerMilli * (System.currentTimeMillis() - landmark));
+
+            Iterator<Entry> it = ranking.iterator();
+            while (top.size() < size && it.hasNext()) {
+                Entry entry = it.next();
+                top.add(new TrendingClaimDTO(entry.messageId(), entry.weight() * scale));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return top;
+    }
+
+    // caller holds the lock
+    private void add(Long messageId, double votes, long at) {
+
+        if (ratePerMilli * (at - landmark) > MAX_EXPONENT) rescale(at);
+
+        Entry previous = entries.get(messageId);
+        if (previous != null) ranking.remove(previous);
+
+        double weight = votes * Math.exp(ratePerMilli * (at - landmark));
+        Entry entry = new Entry(messageId, (previous != null ? previous.weight() : 0) + weight);
+
+        entries.put(messageId, entry);
+        ranking.add(entry);
+
+        if (entries.size() > maxTracked) {
+            entries.remove(ranking.pollLast().messageId());
+        }
+    }
+
+    // Moves the landmark to `at`; scaling every weight by the same factor keeps the order
+    private void rescale(long at) {
+
+        double factor = Math.exp(-ratePerMilli * (at - landmark));
+        List<Entry> scaled = ranking.stream()
+                .map(entry -> new Entry(entry.messageId(), entry.weight() * factor))
+                .toList();
+
+        ranking.clear();
+        entries.clear();
+        for (Entry entry : scaled) {
+            ranking.add(entry);
+            entries.put(entry.messageId(), entry);
+        }
+        landmark = at;
+    }
+
+    private record Entry(Long messageId, double weight) {
+    }
+}
@@ -13,7 +13,9 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserService {
@@ -88,4 +90,17 @@ public class UserService {
     public Optional<User> findById(Long userID) {
         return userRepository.findById(userID);
     }
+
+    public boolean existsById(Long userId) {
+        return userRepository.existsById(userId);
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> userIds) {
+        return userRepository.findExistingIds(userIds);
+    }
+
+    // Proxy for association writes; does not hit the database
+    public User getReference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
 }
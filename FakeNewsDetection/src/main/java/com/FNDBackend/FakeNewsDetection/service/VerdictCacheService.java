@@ -0,0 +1,67 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.cache.TtlCache;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Verdicts keyed by claim fingerprint, shared across all users.
+// Memory first, then the newest finished message with the same fingerprint.
+@Service
+public class VerdictCacheService {
+
+    public static final String PENDING = "PENDING";
+
+    private final MessageRepository messageRepository;
+    private final TtlCache<String, CachedVerdict> cache;
+
+    public VerdictCacheService(MessageRepository messageRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${verdict.cache.max-size:10000}") int maxSize,
+                               @Value("${verdict.cache.ttl:6h}") Duration ttl) {
+
+        this.messageRepository = messageRepository;
+        this.cache = new TtlCache<String, CachedVerdict>(maxSize, ttl)
+                .registerMetrics(meterRegistry, "verdict.cache");
+    }
+
+    public Optional<CachedVerdict> get(String fingerprint) {
+
+        Optional<CachedVerdict> cached = cache.get(fingerprint);
+        if (cached.isPresent()) return cached;
+
+        Optional<CachedVerdict> stored = messageRepository
+                .findFirstByFingerprintAndVerdictNotOrderByIdDesc(fingerprint, PENDING)
+                .map(CachedVerdict::of);
+
+        stored.ifPresent(verdict -> cache.put(fingerprint, verdict));
+        return stored;
+    }
+
+    public void put(Message message) {
+
+        if (message.getFingerprint() == null || PENDING.equals(message.getVerdict())) return;
+
+        cache.put(message.getFingerprint(), CachedVerdict.of(message));
+    }
+
+    public void invalidate(String fingerprint) {
+        if (fingerprint != null) cache.invalidate(fingerprint);
+    }
+
+    // messageId is the message the verdict was read from, for its evidence
+    public record CachedVerdict(Long messageId, String verdict, Integer confidence, String summary,
+                                LocalDateTime verifiedAt) {
+
+        public static CachedVerdict of(Message message) {
+            return new CachedVerdict(message.getId(), message.getVerdict(), message.getConfidence(),
+                    message.getSummary(), message.getVerifiedAt());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.VerificationResult;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Single-flight: concurrent requests for the same claim fingerprint share one
+// upstream verification. The shared Mono is dropped from the map once it
+// terminates, so later requests go through the verdict cache instead.
+// Streaming requests take part too: a stream that starts the verification
+// forwards Gemini output as it arrives, and everyone else waits for its result.
+@Service
+public class VerificationCoalescer {
+
+    private final VerificationService verificationService;
+    private final Duration waiterTimeout;
+
+    private final ConcurrentHashMap<String, Mono<VerificationResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter started;
+    private final Counter joined;
+
+    public VerificationCoalescer(VerificationService verificationService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${verification.waiter-timeout:30s}") Duration waiterTimeout) {
+
+        this.verificationService = verificationService;
+        this.waiterTimeout = waiterTimeout;
+        this.started = meterRegistry.counter("verification.singleflight.started");
+        this.joined = meterRegistry.counter("verification.singleflight.joined");
+        meterRegistry.gaugeMapSize("verification.singleflight.inflight", Tags.empty(), inFlight);
+    }
+
+    public Mono<VerificationResult> verify(String fingerprint, String content) {
+        return Mono.defer(() -> await(join(fingerprint, content)));
+    }
+
+    // Starts the verification, or joins the one in flight, right away. The
+    // returned Mono replays the result, so a caller whose wait ran out can
+    // still pick it up without another upstream call.
+    public Mono<VerificationResult> join(String fingerprint, String content) {
+
+        boolean[] leader = {false};
+
+        Mono<VerificationResult> shared = inFlight.computeIfAbsent(fingerprint, key -> {
+            leader[0] = true;
+            AtomicReference<Mono<VerificationResult>> ours = new AtomicReference<>();
+            // only our own entry: a newer verification of the claim may hold the key by then
+            ours.set(verificationService.verifyAsync(content)
+                    .doFinally(signal -> inFlight.remove(key, ours.get()))
+                    .cache());
+            return ours.get();
+        });
+
+        (leader[0] ? started : joined).increment();
+        return shared;
+    }
+
+    // Each waiter gives up on its own; the shared call keeps running for the others
+    public Mono<VerificationResult> await(Mono<VerificationResult> verification) {
+        return verification.timeout(waiterTimeout);
+    }
+
+    // Joining an in-flight verification yields just its result. Otherwise this
+    // stream leads: its result is published to the waiters when it arrives, and
+    // if Gemini ends without one (failed, fell back) they complete empty. The
+    // Gemini stream runs on its own subscription, so a leader whose client
+    // disconnects doesn't cut it short for the waiters.
+    public Flux<VerificationUpdate> stream(String fingerprint, String content) {
+
+        return Flux.defer(() -> {
+            Sinks.One<VerificationResult> outcome = Sinks.one();
+            Mono<VerificationResult> ours = outcome.asMono();
+
+            Mono<VerificationResult> shared = inFlight.computeIfAbsent(fingerprint, key -> ours);
+            boolean leader = shared == ours;
+
+            (leader ? started : joined).increment();
+
+            if (!leader) return shared.timeout(waiterTimeout).map(VerificationUpdate::result).flux();
+
+            Flux<VerificationUpdate> gemini = verificationService.verifyStream(content)
+                    .doOnNext(update -> {
+                        if (update.getResult() != null) outcome.tryEmitValue(update.getResult());
+                    })
+                    .doFinally(signal -> {
+                        inFlight.remove(fingerprint, ours);
+                        outcome.tryEmitEmpty();
+                    })
+                    .cache();
+
+            // the leader gets errors through its own subscription
+            gemini.subscribe(update -> { }, error -> { });
+            return gemini;
+        });
+    }
+}
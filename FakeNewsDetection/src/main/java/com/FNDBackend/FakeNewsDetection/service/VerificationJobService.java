@@ -0,0 +1,184 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationJobDTO;
+import com.FNDBackend.FakeNewsDetection.mapper.Converter;
+import com.FNDBackend.FakeNewsDetection.model.VerificationJob;
+import com.FNDBackend.FakeNewsDetection.repository.VerificationJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Runs verifications in the background: the job row is the source of truth for
+// polling, SSE subscribers are notified in-process when the job finishes.
+@Slf4j
+@Service
+public class VerificationJobService {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Autowired
+    private VerificationJobRepository jobRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    @Qualifier("verificationExecutor")
+    private ThreadPoolTaskExecutor verificationExecutor;
+
+    @Value("${verification.jobs.sse-timeout:60s}")
+    private Duration sseTimeout;
+
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public VerificationJobDTO submit(String content, Long userId) {
+
+        VerificationJob job = new VerificationJob();
+        job.setContent(content);
+        job.setUserId(userId);
+        job.setStatus(PENDING);
+
+        VerificationJob saved = jobRepository.save(job);
+        enqueue(saved);
+
+        return toDto(saved, null);
+    }
+
+    public VerificationJobDTO getJob(UUID jobId) {
+
+        VerificationJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+
+        return toDto(job, resultOf(job));
+    }
+
+    public SseEmitter subscribe(UUID jobId) {
+
+        if (!jobRepository.existsById(jobId)) {
+            throw new RuntimeException("Job not found");
+        }
+
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        emitter.onCompletion(() -> unsubscribe(jobId, emitter));
+        emitter.onTimeout(() -> unsubscribe(jobId, emitter));
+
+        // the job may have finished before the emitter was registered
+        jobRepository.findById(jobId)
+                .filter(job -> DONE.equals(job.getStatus()) || FAILED.equals(job.getStatus()))
+                .ifPresent(job -> publish(job, resultOf(job)));
+
+        return emitter;
+    }
+
+    // Jobs interrupted by a restart are picked up again
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+
+        List<VerificationJob> unfinished = jobRepository.findByStatusIn(List.of(PENDING, RUNNING));
+        if (!unfinished.isEmpty()) log.info("Resuming {} verification jobs", unfinished.size());
+
+        for (VerificationJob job : unfinished) {
+            try {
+                enqueue(job);
+            } catch (RuntimeException e) {
+                log.warn("Could not resume job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void enqueue(VerificationJob job) {
+        try {
+            verificationExecutor.execute(() -> run(job.getId()));
+        } catch (TaskRejectedException e) {
+            // rethrown so the controller answers 503 with Retry-After
+            finish(job, FAILED, null, "Verification queue is full");
+            throw e;
+        }
+    }
+
+    private void run(UUID jobId) {
+
+        VerificationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        job.setStatus(RUNNING);
+        jobRepository.save(job);
+
+        try {
+            MessageRespDto result = messageService.processMessage(job.getContent(), job.getUserId());
+            finish(job, DONE, result, null);
+        } catch (Exception e) {
+            finish(job, FAILED, null, e.getMessage());
+        }
+    }
+
+    private void finish(VerificationJob job, String status, MessageRespDto result, String error) {
+
+        job.setStatus(status);
+        job.setMessageId(result != null ? result.getId() : null);
+        job.setError(error);
+        job.setCompletedAt(LocalDateTime.now());
+
+        publish(jobRepository.save(job), result);
+    }
+
+    private void publish(VerificationJob job, MessageRespDto result) {
+
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters == null) return;
+
+        VerificationJobDTO dto = toDto(job, result);
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(job.getStatus().toLowerCase()).data(dto));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void unsubscribe(UUID jobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    // No result once the job's message has been deleted; the job itself stays DONE
+    private MessageRespDto resultOf(VerificationJob job) {
+        return DONE.equals(job.getStatus()) && job.getMessageId() != null
+                ? messageService.findMessage(job.getMessageId()).orElse(null)
+                : null;
+    }
+
+    private VerificationJobDTO toDto(VerificationJob job, MessageRespDto result) {
+
+        VerificationJobDTO dto = Converter.convertJob(job);
+        dto.setResult(result);
+        return dto;
+    }
+}
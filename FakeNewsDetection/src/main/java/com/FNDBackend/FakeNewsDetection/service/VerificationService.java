@@ -1,20 +1,41 @@
 package com.FNDBackend.FakeNewsDetection.service;
+import com.FNDBackend.FakeNewsDetection.cache.PersistentTtlCache;
 import com.FNDBackend.FakeNewsDetection.dto.*;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.FNDBackend.FakeNewsDetection.upstream.UpstreamGuard;
+import com.FNDBackend.FakeNewsDetection.util.EvidenceSelector;
+import com.FNDBackend.FakeNewsDetection.util.EvidenceSelector.Evidence;
+import com.FNDBackend.FakeNewsDetection.util.GeminiResponseParser;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
 public class VerificationService {
 
+    private static final String GEMINI_URL =
+            "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash";
+    // keys travel in a header so they stay out of URLs, logs and metrics tags
+    private static final String API_KEY_HEADER = "x-goog-api-key";
+
     private final WebClient webClient;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     @Value("${google.factcheck.api.key}")
     private String factCheckAPIKey;
@@ -28,17 +49,88 @@ public class VerificationService {
     @Value("${google.gemini.api.key}")
     private String geminiAPIKey;
 
-    public VerificationService(WebClient.Builder builder) {
-        this.webClient = builder.build();
+    @Value("${verification.prompt.evidence-token-budget:600}")
+    private int evidenceTokenBudget;
+
+    private final UpstreamGuard factCheckGuard;
+    private final UpstreamGuard searchGuard;
+    private final UpstreamGuard geminiGuard;
+
+    private final PersistentTtlCache<FactCheckResponse> factCheckCache;
+    private final PersistentTtlCache<SearchResponse> searchCache;
+    private final Scheduler blockingScheduler;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary promptEvidence;
+
+    public VerificationService(@Qualifier("upstreamWebClient") WebClient webClient,
+                               @Qualifier("factCheckGuard") UpstreamGuard factCheckGuard,
+                               @Qualifier("searchGuard") UpstreamGuard searchGuard,
+                               @Qualifier("geminiGuard") UpstreamGuard geminiGuard,
+                               PersistentTtlCache<FactCheckResponse> factCheckCache,
+                               PersistentTtlCache<SearchResponse> searchCache,
+                               Scheduler blockingScheduler,
+                               MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.factCheckGuard = factCheckGuard;
+        this.searchGuard = searchGuard;
+        this.geminiGuard = geminiGuard;
+        this.factCheckCache = factCheckCache;
+        this.searchCache = searchCache;
+        this.blockingScheduler = blockingScheduler;
+        this.meterRegistry = meterRegistry;
+
+        this.promptTokens = DistributionSummary.builder("gemini.prompt.tokens")
+                .description("Estimated prompt size sent to Gemini")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        this.promptEvidence = DistributionSummary.builder("gemini.prompt.evidence")
+                .description("Evidence items that made it into the prompt")
+                .register(meterRegistry);
     }
 
     // ================= MAIN =================
 
     public VerificationResult verify(String content) {
+        return verifyAsync(content).block();
+    }
+
+    // Fact check and search are independent, so both run at the same time
+    // and Gemini starts as soon as the slower of the two returns.
+    public Mono<VerificationResult> verifyAsync(String content) {
+
+        return Mono.zip(callFactCheckAPI(content), callCustomSearchAPI(content))
+                .flatMap(evidence -> {
+                    FactCheckResponse fact = evidence.getT1();
+                    SearchResponse search = evidence.getT2();
+
+                    return callGeminiAPI(content, fact, search)
+                            .map(gemini -> buildResult(gemini, fact, search));
+                });
+    }
+
+    // Same pipeline, but Gemini output is forwarded as it is generated and the
+    // final result is emitted last, once the whole text has been parsed.
+    public Flux<VerificationUpdate> verifyStream(String content) {
+
+        return Mono.zip(callFactCheckAPI(content), callCustomSearchAPI(content))
+                .flatMapMany(evidence -> {
+                    FactCheckResponse fact = evidence.getT1();
+                    SearchResponse search = evidence.getT2();
+                    StringBuilder text = new StringBuilder();
+
+                    return streamGeminiAPI(content, fact, search)
+                            .doOnNext(text::append)
+                            .map(VerificationUpdate::delta)
+                            .concatWith(Mono.fromSupplier(() -> VerificationUpdate.result(
+                                    buildResult(GeminiResponseParser.parseText(text.toString()), fact, search))));
+                });
+    }
 
-        FactCheckResponse fact = callFactCheckAPI(content);
-        SearchResponse search = callCustomSearchAPI(content);
-        GeminiResponse gemini = callGeminiAPI(content, fact, search);
+    private VerificationResult buildResult(GeminiResponse gemini,
+                                           FactCheckResponse fact,
+                                           SearchResponse search) {
 
         VerificationResult result = new VerificationResult();
         result.setVerdict(gemini.getVerdict());
@@ -52,73 +144,81 @@ public class VerificationService {
 
     // ================= GEMINI =================
 
-    private GeminiResponse callGeminiAPI(String content,
+    private Mono<GeminiResponse> callGeminiAPI(String content,
+                                               FactCheckResponse fact,
+                                               SearchResponse search) {
+
+        Mono<GeminiResponse> call = webClient.post()
+                .uri(GEMINI_URL + ":generateContent")
+                .header(API_KEY_HEADER, geminiAPIKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new GeminiRequest(buildPrompt(content, fact, search)))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                // one (possibly composite) buffer; parsed in place, released when read
+                .as(DataBufferUtils::join)
+                .timeout(Duration.ofSeconds(15))
+                .map(body -> GeminiResponseParser.parse(body.asInputStream(true)))
+                .defaultIfEmpty(GeminiResponseParser.fallback());
+
+        return geminiGuard.protect(timed(call, "unary"), GeminiResponseParser::fallback);
+    }
+
+    private Flux<String> streamGeminiAPI(String content,
                                          FactCheckResponse fact,
                                          SearchResponse search) {
 
-        String url = "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash:generateContent?key="
-                + geminiAPIKey;
-
-        try {
-            String raw = webClient.post()
-                    .uri(url)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(new GeminiRequest(buildPrompt(content, fact, search)))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(15))
-                    .block();
-
-            return parseGemini(raw);
-
-        } catch (Exception e) {
-            return defaultGemini();
-        }
+        Flux<String> call = webClient.post()
+                .uri(GEMINI_URL + ":streamGenerateContent?alt=sse")
+                .header(API_KEY_HEADER, geminiAPIKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(new GeminiRequest(buildPrompt(content, fact, search)))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                // gap between chunks, not the whole generation
+                .timeout(Duration.ofSeconds(15))
+                .mapNotNull(ServerSentEvent::data)
+                .map(GeminiResponseParser::chunkText)
+                .filter(text -> !text.isEmpty());
+
+        return geminiGuard.protect(timed(call, "stream"), Flux::empty);
     }
 
-    private GeminiResponse parseGemini(String raw) {
-        try {
-            JsonNode textNode = mapper.readTree(raw)
-                    .path("candidates").get(0)
-                    .path("content")
-                    .path("parts").get(0)
-                    .path("text");
-
-            String text = textNode.asText();
-
-            if (text == null || text.isBlank()) return defaultGemini();
-
-            text = text.replace("```json", "")
-                    .replace("```", "")
-                    .trim();
-
-            int start = text.indexOf("{");
-            int end = text.lastIndexOf("}");
-
-            if (start == -1 || end == -1) return defaultGemini();
-
-            return mapper.readValue(text.substring(start, end + 1), GeminiResponse.class);
+    // gemini.latency, tagged by call mode and how the call ended
+    private <T> Mono<T> timed(Mono<T> call, String mode) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> recordLatency(mode, signal, start));
+        });
+    }
 
-        } catch (Exception e) {
-            return defaultGemini();
-        }
+    private <T> Flux<T> timed(Flux<T> call, String mode) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> recordLatency(mode, signal, start));
+        });
     }
 
-    private GeminiResponse defaultGemini() {
-        GeminiResponse r = new GeminiResponse();
-        r.setVerdict("PENDING");
-        r.setConfidence(0);
-        r.setSummary("Gemini parsing failed");
-        return r;
+    private void recordLatency(String mode, SignalType signal, long start) {
+        Timer.builder("gemini.latency")
+                .tag("mode", mode)
+                .tag("outcome", signal == SignalType.ON_COMPLETE ? "success"
+                        : signal == SignalType.ON_ERROR ? "error" : "cancelled")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 
     // ================= PROMPT =================
 
+    // Evidence is ranked and trimmed to verification.prompt.evidence-token-budget
     private String buildPrompt(String content,
                                FactCheckResponse fact,
                                SearchResponse search) {
 
-        return """
+        List<Evidence> evidence = EvidenceSelector.select(content, fact, search, evidenceTokenBudget);
+
+        String prompt = """
         You are a professional fact-checking AI.
 
         Analyze the claim using the evidence below.
@@ -141,89 +241,80 @@ public class VerificationService {
         }
         """.formatted(
                 content,
-                extractFact(fact),
-                extractSearch(search)
+                render(evidence, EvidenceSelector.Kind.FACT_CHECK, "No fact-check data."),
+                render(evidence, EvidenceSelector.Kind.SEARCH, "No search results.")
         );
+
+        promptTokens.record(EvidenceSelector.estimateTokens(prompt));
+        promptEvidence.record(evidence.size());
+
+        return prompt;
     }
 
-    // ================= FACT CHECK =================
+    private String render(List<Evidence> evidence, EvidenceSelector.Kind kind, String none) {
 
-    private FactCheckResponse callFactCheckAPI(String query) {
-
-        String url = "https://factchecktools.googleapis.com/v1alpha1/claims:search"
-                + "?query=" + encode(query)
-                + "&key=" + factCheckAPIKey;
-
-        try {
-            return webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(FactCheckResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-        } catch (Exception e) {
-            return new FactCheckResponse();
+        StringBuilder sb = new StringBuilder();
+
+        for (Evidence item : evidence) {
+            if (item.kind() == kind) sb.append(item.text()).append("\n");
         }
+        return sb.isEmpty() ? none : sb.toString();
     }
 
-    private String extractFact(FactCheckResponse response) {
+    // ================= FACT CHECK =================
 
-        if (response == null || response.getClaims() == null || response.getClaims().isEmpty())
-            return "No fact-check data.";
+    private Mono<FactCheckResponse> callFactCheckAPI(String query) {
 
-        StringBuilder sb = new StringBuilder();
+        String encoded = encode(query);
 
-        for (FactCheckResponse.Claim claim : response.getClaims()) {
-            sb.append("Claim: ").append(claim.getText()).append("\n");
+        // the template variable is encoded by WebClient itself
+        Mono<FactCheckResponse> call = webClient.get()
+                .uri("https://factchecktools.googleapis.com/v1alpha1/claims:search?query={query}", query)
+                .header(API_KEY_HEADER, factCheckAPIKey)
+                .retrieve()
+                .bodyToMono(FactCheckResponse.class)
+                .timeout(Duration.ofSeconds(10))
+                .defaultIfEmpty(new FactCheckResponse())
+                .doOnNext(response -> store(factCheckCache, encoded, response));
 
-            if (claim.getClaimReview() != null) {
-                for (FactCheckResponse.ClaimReview review : claim.getClaimReview()) {
-                    sb.append("Rating: ").append(review.getTextualRating()).append("\n");
-                }
-            }
-            sb.append("\n");
-        }
-        return sb.toString();
+        return cached(factCheckCache, encoded, factCheckGuard.protect(call, FactCheckResponse::unavailable));
     }
 
     // ================= SEARCH =================
 
-    private SearchResponse callCustomSearchAPI(String query) {
-
-        String url = "https://www.googleapis.com/customsearch/v1"
-                + "?q=" + encode(query)
-                + "&key=" + customSearchAPIKey
-                + "&cx=" + customEngineId;
-
-        try {
-            return webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(SearchResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-        } catch (Exception e) {
-            return new SearchResponse();
-        }
-    }
+    private Mono<SearchResponse> callCustomSearchAPI(String query) {
 
-    private String extractSearch(SearchResponse response) {
+        String encoded = encode(query);
+        // results depend on the engine as well as the query
+        String cacheKey = customEngineId + ":" + encoded;
 
-        if (response == null || response.getItems() == null || response.getItems().isEmpty())
-            return "No search results.";
+        Mono<SearchResponse> call = webClient.get()
+                .uri("https://www.googleapis.com/customsearch/v1?q={q}&cx={cx}", query, customEngineId)
+                .header(API_KEY_HEADER, customSearchAPIKey)
+                .retrieve()
+                .bodyToMono(SearchResponse.class)
+                .timeout(Duration.ofSeconds(10))
+                .defaultIfEmpty(new SearchResponse())
+                .doOnNext(response -> store(searchCache, cacheKey, response));
 
-        StringBuilder sb = new StringBuilder();
+        return cached(searchCache, cacheKey, searchGuard.protect(call, SearchResponse::unavailable));
+    }
 
-        int count = 0;
-        for (SearchResponse.SearchItem item : response.getItems()) {
-            sb.append("Title: ").append(item.getTitle()).append("\n");
-            sb.append("Snippet: ").append(item.getSnippet()).append("\n\n");
+    // ================= EVIDENCE CACHE =================
 
-            if (++count == 3) break;
-        }
-        return sb.toString();
+    // Cache lookups may read from disk, so they run on blockingScheduler.
+    // Only real upstream answers are stored, never the guard fallbacks.
+    private <T> Mono<T> cached(PersistentTtlCache<T> cache, String key, Mono<T> upstream) {
+        return Mono.fromCallable(() -> cache.get(key).orElse(null))
+                .subscribeOn(blockingScheduler)
+                .switchIfEmpty(upstream);
+    }
+
+    private <T> void store(PersistentTtlCache<T> cache, String key, T value) {
+        blockingScheduler.schedule(() -> cache.put(key, value));
     }
 
+    // cache keys only; kept so entries already on disk still match
     private String encode(String query) {
         return java.net.URLEncoder.encode(query, StandardCharsets.UTF_8);
     }
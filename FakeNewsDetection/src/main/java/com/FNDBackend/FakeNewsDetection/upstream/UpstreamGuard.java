@@ -0,0 +1,170 @@
+package com.FNDBackend.FakeNewsDetection.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Circuit breaker + bulkhead for one upstream API.
+//
+// CLOSED: calls go through; failureThreshold consecutive failures open the breaker.
+// OPEN: calls fail fast to the fallback until openDuration has passed.
+// HALF_OPEN: a single probe call is let through; success closes, failure re-opens.
+//
+// Independently, at most maxConcurrent calls may be in flight; extra calls
+// get the fallback immediately instead of queueing.
+public class UpstreamGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Semaphore bulkhead;
+
+    private volatile State state = State.CLOSED;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejectedOpen;
+    private final Counter rejectedBulkhead;
+
+    public UpstreamGuard(String name, int failureThreshold, Duration openDuration,
+                         int maxConcurrent, MeterRegistry registry) {
+
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.bulkhead = new Semaphore(maxConcurrent);
+
+        this.successes = registry.counter("upstream.calls", "upstream", name, "outcome", "success");
+        this.failures = registry.counter("upstream.calls", "upstream", name, "outcome", "failure");
+        this.rejectedOpen = registry.counter("upstream.rejected", "upstream", name, "reason", "circuit_open");
+        this.rejectedBulkhead = registry.counter("upstream.rejected", "upstream", name, "reason", "bulkhead_full");
+
+        Gauge.builder("upstream.circuit.state", this, guard -> guard.state.ordinal())
+                .tag("upstream", name)
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(registry);
+        Gauge.builder("upstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("upstream", name)
+                .register(registry);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call, Supplier<T> fallback) {
+
+        return Mono.defer(() -> {
+            Permit permit = acquire();
+            if (permit == null) return Mono.fromSupplier(fallback);
+
+            return call
+                    .doOnSuccess(value -> permit.success())
+                    .doOnError(e -> permit.failure())
+                    .doFinally(signal -> permit.release())
+                    .onErrorResume(e -> Mono.fromSupplier(fallback));
+        });
+    }
+
+    public <T> Flux<T> protect(Flux<T> call, Supplier<Flux<T>> fallback) {
+
+        return Flux.defer(() -> {
+            Permit permit = acquire();
+            if (permit == null) return fallback.get();
+
+            return call
+                    .doOnComplete(permit::success)
+                    .doOnError(e -> permit.failure())
+                    .doFinally(signal -> permit.release())
+                    .onErrorResume(e -> fallback.get());
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private Permit acquire() {
+
+        boolean probe = false;
+
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt.get() < openNanos) {
+                rejectedOpen.increment();
+                return null;
+            }
+            state = State.HALF_OPEN;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (!probeInFlight.compareAndSet(false, true)) {
+                rejectedOpen.increment();
+                return null;
+            }
+            probe = true;
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            if (probe) probeInFlight.set(false);
+            rejectedBulkhead.increment();
+            return null;
+        }
+
+        return new Permit(probe);
+    }
+
+    private void open() {
+        openedAt.set(System.nanoTime());
+        state = State.OPEN;
+    }
+
+    private final class Permit {
+
+        private final boolean probe;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Permit(boolean probe) {
+            this.probe = probe;
+        }
+
+        void success() {
+            if (!recorded.compareAndSet(false, true)) return;
+
+            successes.increment();
+            consecutiveFailures.set(0);
+            if (probe || state == State.HALF_OPEN) state = State.CLOSED;
+        }
+
+        void failure() {
+            if (!recorded.compareAndSet(false, true)) return;
+
+            failures.increment();
+            if (probe || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                consecutiveFailures.set(0);
+                open();
+            }
+        }
+
+        void release() {
+            if (!released.compareAndSet(false, true)) return;
+
+            bulkhead.release();
+            if (probe) probeInFlight.set(false);
+        }
+    }
+}
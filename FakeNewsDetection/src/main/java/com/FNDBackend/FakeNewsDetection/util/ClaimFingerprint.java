@@ -0,0 +1,98 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Turns a pasted claim into a stable key so the same rumor shared by
+// different users (different casing, spacing, tracking links) maps to one entry.
+public final class ClaimFingerprint {
+
+    private static final Pattern URL = Pattern.compile("https?://\\S+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "igshid", "mc_cid", "mc_eid", "si", "ref", "ref_src"
+    );
+
+    private ClaimFingerprint() {
+    }
+
+    public static String of(String content) {
+        return sha256(normalize(content));
+    }
+
+    // Digest of the raw content, for exact-match lookups
+    public static String contentHash(String content) {
+        return sha256(content == null ? "" : content);
+    }
+
+    public static String normalize(String content) {
+
+        if (content == null) return "";
+
+        String text = Normalizer.normalize(content, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT);
+
+        text = stripTrackingParams(text);
+
+        return NON_WORD.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static String stripTrackingParams(String text) {
+
+        Matcher matcher = URL.matcher(text);
+        StringBuilder sb = new StringBuilder();
+
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(cleanUrl(matcher.group())));
+        }
+        matcher.appendTail(sb);
+
+        return sb.toString();
+    }
+
+    private static String cleanUrl(String url) {
+
+        try {
+            URI uri = URI.create(url);
+            String query = uri.getRawQuery();
+
+            StringJoiner kept = new StringJoiner("&");
+            if (query != null) {
+                for (String param : query.split("&")) {
+                    String name = param.split("=", 2)[0];
+                    if (!name.startsWith("utm_") && !TRACKING_PARAMS.contains(name)) {
+                        kept.add(param);
+                    }
+                }
+            }
+
+            String host = uri.getHost() == null ? "" : uri.getHost().replaceFirst("^www\\.", "");
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+
+            return host + path + (kept.length() == 0 ? "" : "?" + kept);
+
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
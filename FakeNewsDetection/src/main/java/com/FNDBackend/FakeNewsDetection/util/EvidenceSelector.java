@@ -0,0 +1,158 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import com.FNDBackend.FakeNewsDetection.dto.FactCheckResponse;
+import com.FNDBackend.FakeNewsDetection.dto.SearchResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Picks the evidence that goes into the Gemini prompt. Fact-check claims and
+// search items are scored by how many of the claim's words they cover, near
+// copies are dropped, and the best items are taken until the token budget is spent.
+public final class EvidenceSelector {
+
+    // rated fact checks outrank a search snippet with the same word overlap
+    private static final double RATING_BONUS = 0.25;
+    // search results keep a little of Google's own order
+    private static final double RANK_BONUS = 0.1;
+    private static final double DUPLICATE_SIMILARITY = 0.8;
+    private static final int MAX_REVIEWS_PER_CLAIM = 3;
+
+    public enum Kind { FACT_CHECK, SEARCH }
+
+    public record Evidence(Kind kind, String text, double score, int tokens) {
+    }
+
+    private EvidenceSelector() {
+    }
+
+    // Rough count for Gemini: about four characters per token for English text
+    public static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    public static List<Evidence> select(String claim,
+                                        FactCheckResponse fact,
+                                        SearchResponse search,
+                                        int tokenBudget) {
+
+        Set<String> claimWords = words(claim);
+        List<Candidate> candidates = new ArrayList<>();
+
+        if (fact != null && fact.getClaims() != null) {
+            for (FactCheckResponse.Claim item : fact.getClaims()) {
+                double coverage = coverage(claimWords, item.getText());
+                if (!relevant(claimWords, coverage)) continue;
+
+                String text = factText(item);
+                double score = coverage + (text.contains("Rating: ") ? RATING_BONUS : 0);
+
+                candidates.add(new Candidate(new Evidence(Kind.FACT_CHECK, text, score, estimateTokens(text)),
+                        MinHash.signature(item.getText())));
+            }
+        }
+
+        if (search != null && search.getItems() != null) {
+            int rank = 0;
+            for (SearchResponse.SearchItem item : search.getItems()) {
+                double coverage = coverage(claimWords, item.getTitle() + " " + item.getSnippet());
+                double score = coverage + RANK_BONUS / (1 + rank++);
+                if (!relevant(claimWords, coverage)) continue;
+
+                String text = "Title: " + item.getTitle() + "\nSnippet: " + item.getSnippet() + "\n";
+
+                candidates.add(new Candidate(new Evidence(Kind.SEARCH, text, score, estimateTokens(text)),
+                        MinHash.signature(item.getTitle() + " " + item.getSnippet())));
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble((Candidate c) -> c.evidence().score()).reversed());
+
+        List<Evidence> selected = new ArrayList<>();
+        List<int[]> signatures = new ArrayList<>();
+        int used = 0;
+
+        for (Candidate candidate : candidates) {
+            Evidence evidence = candidate.evidence();
+
+            if (used + evidence.tokens() > tokenBudget) continue;
+            if (isDuplicate(candidate.signature(), signatures)) continue;
+
+            selected.add(evidence);
+            signatures.add(candidate.signature());
+            used += evidence.tokens();
+        }
+
+        return selected;
+    }
+
+    // signature covers the evidence itself, not the "Claim:"/"Title:" labels
+    private record Candidate(Evidence evidence, int[] signature) {
+    }
+
+    private static String factText(FactCheckResponse.Claim claim) {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Claim: ").append(claim.getText()).append("\n");
+
+        if (claim.getClaimReview() != null) {
+            // the same rating from several outlets says nothing new
+            Set<String> seen = new HashSet<>();
+            for (FactCheckResponse.ClaimReview review : claim.getClaimReview()) {
+                String rating = review.getTextualRating();
+                if (rating == null || !seen.add(rating.trim().toLowerCase(Locale.ROOT))) continue;
+
+                sb.append("Rating: ").append(rating);
+                if (review.getPublisher() != null && review.getPublisher().getName() != null) {
+                    sb.append(" (").append(review.getPublisher().getName()).append(")");
+                }
+                sb.append("\n");
+
+                if (seen.size() == MAX_REVIEWS_PER_CLAIM) break;
+            }
+        }
+        return sb.toString();
+    }
+
+    // Share of the claim's words that appear in the evidence
+    private static double coverage(Set<String> claimWords, String text) {
+
+        if (claimWords.isEmpty()) return 0;
+
+        Set<String> evidenceWords = words(text);
+        long shared = claimWords.stream().filter(evidenceWords::contains).count();
+
+        return shared / (double) claimWords.size();
+    }
+
+    // Items sharing no word with the claim are dropped, unless the claim has no usable words
+    private static boolean relevant(Set<String> claimWords, double coverage) {
+        return claimWords.isEmpty() || coverage > 0;
+    }
+
+    private static Set<String> words(String text) {
+
+        String normalized = ClaimFingerprint.normalize(text);
+        if (normalized.isEmpty()) return Set.of();
+
+        // one and two letter words ("a", "is", "of") only add noise to the overlap
+        Set<String> words = new HashSet<>(Arrays.asList(normalized.split(" ")));
+        words.removeIf(word -> word.length() < 3);
+        return words;
+    }
+
+    private static boolean isDuplicate(int[] signature, List<int[]> selected) {
+
+        if (MinHash.isEmpty(signature)) return false;
+
+        for (int[] other : selected) {
+            if (MinHash.similarity(signature, other) >= DUPLICATE_SIMILARITY) return true;
+        }
+        return false;
+    }
+}
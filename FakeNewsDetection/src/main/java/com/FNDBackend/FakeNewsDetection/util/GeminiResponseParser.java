@@ -0,0 +1,120 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import com.FNDBackend.FakeNewsDetection.dto.GeminiResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+
+// Reads Gemini generateContent responses without building a JSON tree: the
+// parser streams to candidates[0].content.parts[0].text, and the verdict object
+// is read straight out of that text. Anything unreadable yields fallback().
+public final class GeminiResponseParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final ObjectReader VERDICT_READER = MAPPER.readerFor(GeminiResponse.class);
+
+    private GeminiResponseParser() {
+    }
+
+    // Whole unary response body
+    public static GeminiResponse parse(InputStream body) {
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            return parseText(candidateText(parser));
+        } catch (Exception e) {
+            return fallback();
+        }
+    }
+
+    // Text delta of one streamed chunk, empty when the chunk carries none
+    public static String chunkText(String chunk) {
+        try (JsonParser parser = FACTORY.createParser(chunk)) {
+            return candidateText(parser);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    // One scan finds where the verdict starts, and the reader stops at its
+    // closing brace, so code fences or prose around it are never copied or stripped.
+    public static GeminiResponse parseText(String text) {
+        try {
+            if (text == null || text.isBlank()) return fallback();
+
+            int start = verdictStart(text);
+            if (start == -1) return fallback();
+
+            Reader reader = new StringReader(text);
+            reader.skip(start);
+
+            return VERDICT_READER.readValue(reader);
+
+        } catch (Exception e) {
+            return fallback();
+        }
+    }
+
+    public static GeminiResponse fallback() {
+        GeminiResponse r = new GeminiResponse();
+        r.setVerdict("PENDING");
+        r.setConfidence(0);
+        r.setSummary("Gemini parsing failed");
+        return r;
+    }
+
+    // Streams through the response to candidates[0].content.parts[0].text,
+    // skipping everything else without building a tree.
+    static String candidateText(JsonParser parser) throws IOException {
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) return "";
+
+        if (!seekField(parser, "candidates")
+                || parser.nextToken() != JsonToken.START_ARRAY
+                || parser.nextToken() != JsonToken.START_OBJECT) return "";
+
+        if (!seekField(parser, "content")
+                || parser.nextToken() != JsonToken.START_OBJECT) return "";
+
+        if (!seekField(parser, "parts")
+                || parser.nextToken() != JsonToken.START_ARRAY
+                || parser.nextToken() != JsonToken.START_OBJECT) return "";
+
+        if (!seekField(parser, "text")
+                || parser.nextToken() != JsonToken.VALUE_STRING) return "";
+
+        return parser.getText();
+    }
+
+    // First '{' that opens a JSON object, i.e. is followed by a key or '}'
+    static int verdictStart(String text) {
+
+        int length = text.length();
+
+        for (int i = text.indexOf('{'); i != -1; i = text.indexOf('{', i + 1)) {
+            int next = i + 1;
+            while (next < length && Character.isWhitespace(text.charAt(next))) next++;
+
+            if (next < length && (text.charAt(next) == '"' || text.charAt(next) == '}')) return i;
+        }
+        return -1;
+    }
+
+    // Moves to the named field of the current object; other values are skipped whole
+    private static boolean seekField(JsonParser parser, String name) throws IOException {
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.currentName())) return true;
+
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
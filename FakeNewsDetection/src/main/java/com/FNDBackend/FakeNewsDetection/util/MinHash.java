@@ -0,0 +1,87 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// MinHash signatures over word unigrams and bigrams of the normalized claim.
+// Two signatures agree in a slot with probability equal to the Jaccard
+// similarity of the underlying shingle sets.
+public final class MinHash {
+
+    public static final int NUM_HASHES = 64;
+
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] signature(String content) {
+
+        Set<Long> shingles = shingles(ClaimFingerprint.normalize(content));
+
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (long shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return same / (double) NUM_HASHES;
+    }
+
+    public static boolean isEmpty(int[] signature) {
+        return signature[0] == Integer.MAX_VALUE;
+    }
+
+    private static Set<Long> shingles(String normalized) {
+
+        Set<Long> shingles = new HashSet<>();
+        if (normalized.isEmpty()) return shingles;
+
+        String[] words = normalized.split(" ");
+        long previous = 0;
+
+        for (int i = 0; i < words.length; i++) {
+            long word = hash(words[i]);
+            shingles.add(word);
+            if (i > 0) shingles.add(mix(previous * 31 + word));
+            previous = word;
+        }
+        return shingles;
+    }
+
+    private static long hash(String word) {
+        long h = 1125899906842597L;
+        for (int i = 0; i < word.length(); i++) {
+            h = 31 * h + word.charAt(i);
+        }
+        return mix(h);
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,40 @@
+package com.FNDBackend.FakeNewsDetection;
+
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.util.ClaimFingerprint;
+
+import java.util.UUID;
+
+// Unsaved entities for tests that seed the database. Emails and claim texts
+// are unique per call, so tests never collide on users.email or on verdict reuse.
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String name) {
+
+        User user = new User();
+        user.setName(name);
+        user.setEmail(UUID.randomUUID() + "@test.local");
+        user.setPassword("x");
+        return user;
+    }
+
+    // A verified TRUE claim, hashed and fingerprinted as MessageService stores it
+    public static Message message(User author, String claim) {
+
+        String content = claim + " " + UUID.randomUUID();
+
+        Message message = new Message();
+        message.setContent(content);
+        message.setContentHash(ClaimFingerprint.contentHash(content));
+        message.setFingerprint(ClaimFingerprint.of(content));
+        message.setVerdict("TRUE");
+        message.setConfidence(80);
+        message.setSummary("seeded");
+        message.setAuthor(author);
+        return message;
+    }
+}
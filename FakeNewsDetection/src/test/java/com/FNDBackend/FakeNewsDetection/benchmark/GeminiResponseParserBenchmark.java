@@ -0,0 +1,98 @@
+package com.FNDBackend.FakeNewsDetection.benchmark;
+
+import com.FNDBackend.FakeNewsDetection.dto.GeminiResponse;
+import com.FNDBackend.FakeNewsDetection.util.GeminiResponseParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Time and allocation per Gemini response: the streaming parser against the
+// previous decode-to-String, readTree, strip fences, substring, readValue path.
+// Bytes per call are reported as gc.alloc.rate.norm.
+//
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+//        com.FNDBackend.FakeNewsDetection.benchmark.GeminiResponseParserBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeminiResponseParserBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // summary length in words; Gemini summaries run from one line to a few paragraphs
+    @Param({"40", "400"})
+    private int summaryWords;
+
+    private byte[] body;
+
+    @Setup
+    public void build() throws Exception {
+
+        String summary = "The claim is not supported by the cited sources. ".repeat(summaryWords / 9 + 1);
+        String verdict = MAPPER.writeValueAsString(Map.of(
+                "verdict", "FALSE", "confidence", 92, "summary", summary));
+        String text = "Here is the assessment:\n```json\n" + verdict + "\n```\n";
+
+        body = MAPPER.writeValueAsBytes(Map.of(
+                "candidates", new Object[]{Map.of(
+                        "content", Map.of("role", "model", "parts", new Object[]{Map.of("text", text)}),
+                        "finishReason", "STOP")},
+                "usageMetadata", Map.of("promptTokenCount", 812, "candidatesTokenCount", 140),
+                "modelVersion", "gemini-2.5-flash"));
+    }
+
+    @Benchmark
+    public GeminiResponse streaming() {
+        return GeminiResponseParser.parse(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public GeminiResponse tree() throws Exception {
+
+        String raw = new String(body, StandardCharsets.UTF_8);
+        JsonNode root = MAPPER.readTree(raw);
+        String text = root.path("candidates").path(0)
+                .path("content")
+                .path("parts").path(0)
+                .path("text")
+                .asText("");
+
+        text = text.replace("```json", "")
+                .replace("```", "")
+                .trim();
+
+        int start = text.indexOf("{");
+        int end = text.lastIndexOf("}");
+        return MAPPER.readValue(text.substring(start, end + 1), GeminiResponse.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GeminiResponseParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.FNDBackend.FakeNewsDetection.benchmark;
+
+import com.FNDBackend.FakeNewsDetection.JwtSecurity.JwtService;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning a bearer token into claims, as the JWT filter does on every
+// request: JwtService with its verified-claims cache (cacheSize 10000), the same
+// service with the cache disabled (cacheSize 0, signature checked every time),
+// and the previous code that also rebuilt the key and parser per call.
+//
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+//        com.FNDBackend.FakeNewsDetection.benchmark.JwtClaimsBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtClaimsBenchmark {
+
+    // the development default from application.properties
+    private static final String SECRET = "NWU0ZjdlNmE5MTdiNGJjMzg5Y2QyZjhhNzEwYzMwNDVmOTgwYjQxNjk4MzIwZTRjYzAxZTU5ZmE2NGRiNjdkZA==";
+
+    @State(Scope.Benchmark)
+    public static class Token {
+
+        private String token;
+
+        @Setup
+        public void build() {
+
+            User user = new User();
+            user.setId(42L);
+            user.setEmail("reader@example.com");
+            token = jwtService(0).generateToken(user);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param({"0", "10000"})
+        private int cacheSize;
+
+        private JwtService jwtService;
+
+        @Setup
+        public void build() {
+            jwtService = jwtService(cacheSize);
+        }
+    }
+
+    @Benchmark
+    public Claims service(Service service, Token token) {
+        return service.jwtService.extractAllClaims(token.token);
+    }
+
+    @Benchmark
+    public Claims keyAndParserPerCall(Token token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token.token)
+                .getPayload();
+    }
+
+    private static JwtService jwtService(int claimsCacheSize) {
+
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheSize", claimsCacheSize);
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtClaimsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
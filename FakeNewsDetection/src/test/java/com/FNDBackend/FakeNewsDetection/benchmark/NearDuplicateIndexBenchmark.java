@@ -0,0 +1,93 @@
+package com.FNDBackend.FakeNewsDetection.benchmark;
+
+import com.FNDBackend.FakeNewsDetection.service.NearDuplicateIndex;
+import com.FNDBackend.FakeNewsDetection.util.SyntheticClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Lookup latency of the near-duplicate index over synthetic claims, for a
+// reworded copy of a stored claim and for an unrelated one. Recall of the
+// reworded queries is printed once the index is built.
+//
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+//        com.FNDBackend.FakeNewsDetection.benchmark.NearDuplicateIndexBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3500m")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NearDuplicateIndexBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"100000", "1000000"})
+    private int entries;
+
+    private NearDuplicateIndex index;
+    private final String[] reworded = new String[QUERIES];
+    private final String[] unrelated = new String[QUERIES];
+    private int next;
+
+    @Setup
+    public void build() {
+
+        SyntheticClaims claims = new SyntheticClaims(42);
+        index = new NearDuplicateIndex(null, new SimpleMeterRegistry(), true, 0.8, 4096, 5_000);
+
+        for (int id = 0; id < entries; id++) {
+            String claim = claims.claim();
+            index.add((long) id, claim);
+            if (id < QUERIES) reworded[id] = claims.withWordInserted(claim);
+        }
+        for (int i = 0; i < QUERIES; i++) unrelated[i] = claims.claim();
+
+        int found = 0;
+        for (int id = 0; id < QUERIES; id++) {
+            if (index.findSimilar(reworded[id]).orElse(-1L) == id) found++;
+        }
+        System.out.printf("%n%d entries: recall %.3f (one word inserted), false matches %d of %d%n",
+                entries, found / (double) QUERIES, falseMatches(), QUERIES);
+    }
+
+    @Benchmark
+    public Optional<Long> rewordedClaim() {
+        return index.findSimilar(reworded[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Long> unrelatedClaim() {
+        return index.findSimilar(unrelated[next++ & (QUERIES - 1)]);
+    }
+
+    private int falseMatches() {
+        int matches = 0;
+        for (String query : unrelated) {
+            if (index.findSimilar(query).isPresent()) matches++;
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NearDuplicateIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,194 @@
+package com.FNDBackend.FakeNewsDetection.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentTtlCacheTests {
+
+    private static final Duration DAY = Duration.ofDays(1);
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<PersistentTtlCache<Payload>> opened = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    record Payload(String key, String text) {
+    }
+
+    @AfterEach
+    void closeAll() throws IOException {
+        for (PersistentTtlCache<Payload> cache : opened) cache.close();
+    }
+
+    @Test
+    void entriesSurviveReopen() throws IOException {
+
+        PersistentTtlCache<Payload> cache = open(DAY, NO_LIMIT);
+        cache.put("a", new Payload("a", "first"));
+        cache.put("b", new Payload("b", "second"));
+        cache.close();
+
+        PersistentTtlCache<Payload> reopened = open(DAY, NO_LIMIT);
+
+        assertEquals(2, reopened.diskEntries());
+        assertEquals(Optional.of(new Payload("a", "first")), reopened.get("a"));
+        assertEquals(Optional.of(new Payload("b", "second")), reopened.get("b"));
+    }
+
+    @Test
+    void reopenKeepsLatestRecordAndCompacts() throws IOException {
+
+        PersistentTtlCache<Payload> cache = open(DAY, NO_LIMIT);
+        cache.put("a", new Payload("a", "old"));
+        cache.put("a", new Payload("a", "new"));
+        long before = cache.diskBytes();
+        cache.close();
+
+        PersistentTtlCache<Payload> reopened = open(DAY, NO_LIMIT);
+
+        assertEquals(Optional.of(new Payload("a", "new")), reopened.get("a"));
+        assertTrue(reopened.diskBytes() < before, "superseded record was not dropped");
+        assertEquals(1, lines().size());
+    }
+
+    @Test
+    void tornLastLineIsDroppedOnReopen() throws IOException {
+
+        PersistentTtlCache<Payload> cache = open(DAY, NO_LIMIT);
+        cache.put("a", new Payload("a", "kept"));
+        cache.close();
+
+        // a crash in the middle of an append
+        Files.writeString(file(), "{\"key\":\"b\",\"expiresAt\":99999999999999,\"val",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        PersistentTtlCache<Payload> reopened = open(DAY, NO_LIMIT);
+        assertEquals(Optional.of(new Payload("a", "kept")), reopened.get("a"));
+        assertEquals(Optional.empty(), reopened.get("b"));
+        assertEquals(1, lines().size());
+
+        // later appends start on a fresh line
+        reopened.put("c", new Payload("c", "after crash"));
+        reopened.close();
+
+        PersistentTtlCache<Payload> again = open(DAY, NO_LIMIT);
+        assertEquals(Optional.of(new Payload("a", "kept")), again.get("a"));
+        assertEquals(Optional.of(new Payload("c", "after crash")), again.get("c"));
+    }
+
+    @Test
+    void outgrowingTheLimitCompacts() {
+
+        long limit = 4096;
+        PersistentTtlCache<Payload> cache = open(DAY, limit);
+
+        for (int round = 0; round < 50; round++) {
+            for (int key = 0; key < 10; key++) {
+                cache.put("k" + key, new Payload("k" + key, "round " + round));
+                assertTrue(cache.diskBytes() <= limit, "file grew to " + cache.diskBytes());
+            }
+        }
+
+        assertEquals(10, cache.diskEntries());
+        for (int key = 0; key < 10; key++) {
+            assertEquals(Optional.of(new Payload("k" + key, "round 49")), cache.get("k" + key));
+        }
+    }
+
+    @Test
+    void expiredEntriesAreNotServed() throws Exception {
+
+        PersistentTtlCache<Payload> cache = open(Duration.ofMillis(200), NO_LIMIT);
+        cache.put("a", new Payload("a", "short lived"));
+        assertTrue(cache.get("a").isPresent());
+
+        Thread.sleep(300);
+
+        assertEquals(Optional.empty(), cache.get("a"));
+        assertEquals(0, cache.diskEntries());
+
+        cache.close();
+        assertEquals(0, open(DAY, NO_LIMIT).diskEntries());
+    }
+
+    // Readers copy records outside the index lock; compaction moving records
+    // underneath them must never hand back another key's bytes.
+    @Test
+    void readsDuringCompactionStayConsistent() throws Exception {
+
+        int keys = 32;
+        PersistentTtlCache<Payload> cache = open(DAY, 8 * 1024);
+        for (int key = 0; key < keys; key++) cache.put("k" + key, new Payload("k" + key, "round 0"));
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    int reads = 0;
+                    while (writing.get()) {
+                        String key = "k" + ThreadLocalRandom.current().nextInt(keys);
+                        Optional<Payload> value = cache.get(key);
+
+                        assertTrue(value.isPresent(), key + " missing");
+                        assertEquals(key, value.get().key());
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            for (int round = 1; round <= 200; round++) {
+                for (int key = 0; key < keys; key++) cache.put("k" + key, new Payload("k" + key, "round " + round));
+            }
+            writing.set(false);
+
+            for (Future<Integer> reader : readers) assertTrue(reader.get() > 0);
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+    }
+
+    // No memory tier, so every get reads the file
+    private PersistentTtlCache<Payload> open(Duration ttl, long maxDiskBytes) {
+
+        PersistentTtlCache<Payload> cache = new PersistentTtlCache<>(file(), Payload.class, mapper, 0, ttl, maxDiskBytes);
+        opened.add(cache);
+        return cache;
+    }
+
+    private Path file() {
+        return dir.resolve("cache.jsonl");
+    }
+
+    private List<String> lines() throws IOException {
+
+        String content = Files.readString(file());
+        assertTrue(content.endsWith("\n"));
+        return content.lines().toList();
+    }
+}
@@ -0,0 +1,164 @@
+package com.FNDBackend.FakeNewsDetection.controller;
+
+import com.FNDBackend.FakeNewsDetection.JwtSecurity.JwtPrincipal;
+import com.FNDBackend.FakeNewsDetection.JwtSecurity.JwtService;
+import com.FNDBackend.FakeNewsDetection.config.SecurityConfig;
+import com.FNDBackend.FakeNewsDetection.dto.BatchVerifyResultDTO;
+import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
+import com.FNDBackend.FakeNewsDetection.service.EvidenceService;
+import com.FNDBackend.FakeNewsDetection.service.MessageService;
+import com.FNDBackend.FakeNewsDetection.service.TrendingService;
+import com.FNDBackend.FakeNewsDetection.service.VerificationJobService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Reactive endpoints complete on an ASYNC dispatch, which runs the security
+// chain again without the JWT filter; those dispatches must not be rejected.
+@WebMvcTest(MessageController.class)
+@Import(SecurityConfig.class)
+class MessageControllerSecurityTests {
+
+    private static final String BEARER = "Bearer test-token";
+    private static final String ADMIN_BEARER = "Bearer admin-token";
+    private static final String BODY = "{\"content\":\"the moon is made of cheese\",\"userId\":1}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MessageService messageService;
+
+    @MockBean
+    private VerificationJobService verificationJobService;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @MockBean
+    private EvidenceService evidenceService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    private final MessageRespDto dto = MessageRespDto.builder().id(7L).verdict("FALSE").build();
+
+    @BeforeEach
+    void authenticate() {
+
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("user@test.local");
+        when(jwtService.extractAllClaims("test-token")).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims))
+                .thenReturn(Optional.of(new JwtPrincipal(1L, "user@test.local", List.of("ROLE_USER"))));
+
+        Claims admin = mock(Claims.class);
+        when(admin.getSubject()).thenReturn("admin@test.local");
+        when(jwtService.extractAllClaims("admin-token")).thenReturn(admin);
+        when(jwtService.extractPrincipal(admin))
+                .thenReturn(Optional.of(new JwtPrincipal(2L, "admin@test.local", List.of("ROLE_ADMIN"))));
+    }
+
+    @Test
+    void syncEndpointIsAuthorized() throws Exception {
+
+        when(messageService.getMessage(7L)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/v1/messages/7").header(HttpHeaders.AUTHORIZATION, BEARER))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void monoResponseIsAuthorizedOnAsyncDispatch() throws Exception {
+
+        when(messageService.processMessageAsync(any(), any())).thenReturn(Mono.just(dto));
+
+        MvcResult started = mockMvc.perform(post("/api/v1/messages/verify")
+                        .header(HttpHeaders.AUTHORIZATION, BEARER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void fluxResponseIsAuthorizedOnAsyncDispatch() throws Exception {
+
+        when(messageService.processBatch(any(), any()))
+                .thenReturn(Flux.just(new BatchVerifyResultDTO(0, dto, null)));
+
+        MvcResult started = mockMvc.perform(post("/api/v1/messages/verify/batch")
+                        .header(HttpHeaders.AUTHORIZATION, BEARER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"contents\":[\"a claim\"],\"userId\":1}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void missingTokenIsStillRejected() throws Exception {
+
+        mockMvc.perform(post("/api/v1/messages/verify")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void purgeRequiresAdminRole() throws Exception {
+
+        mockMvc.perform(delete("/api/v1/messages/purge?olderThan=2026-01-01")
+                        .header(HttpHeaders.AUTHORIZATION, BEARER))
+                .andExpect(status().isForbidden());
+
+        verify(messageService, never()).purgeMessages(any(), any());
+    }
+
+    @Test
+    void adminCanPurge() throws Exception {
+
+        when(messageService.purgeMessages(null, LocalDate.of(2026, 1, 1))).thenReturn(3L);
+
+        mockMvc.perform(delete("/api/v1/messages/purge?olderThan=2026-01-01")
+                        .header(HttpHeaders.AUTHORIZATION, ADMIN_BEARER))
+                .andExpect(status().isOk());
+    }
+}
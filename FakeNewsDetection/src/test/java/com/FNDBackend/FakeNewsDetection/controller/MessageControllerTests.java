@@ -0,0 +1,83 @@
+package com.FNDBackend.FakeNewsDetection.controller;
+
+import com.FNDBackend.FakeNewsDetection.JwtSecurity.JwtPrincipal;
+import com.FNDBackend.FakeNewsDetection.JwtSecurity.JwtService;
+import com.FNDBackend.FakeNewsDetection.config.SecurityConfig;
+import com.FNDBackend.FakeNewsDetection.service.EvidenceService;
+import com.FNDBackend.FakeNewsDetection.service.MessageService;
+import com.FNDBackend.FakeNewsDetection.service.TrendingService;
+import com.FNDBackend.FakeNewsDetection.service.VerificationJobService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MessageController.class)
+@Import(SecurityConfig.class)
+class MessageControllerTests {
+
+    private static final String BEARER = "Bearer test-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MessageService messageService;
+
+    @MockBean
+    private VerificationJobService verificationJobService;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @MockBean
+    private EvidenceService evidenceService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void authenticate() {
+
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("user@test.local");
+        when(jwtService.extractAllClaims("test-token")).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims))
+                .thenReturn(Optional.of(new JwtPrincipal(1L, "user@test.local", List.of("ROLE_USER"))));
+    }
+
+    @Test
+    void fullJobQueueIsServiceUnavailable() throws Exception {
+
+        when(verificationJobService.submit(any(), any()))
+                .thenThrow(new TaskRejectedException("Executor rejected task"));
+
+        mockMvc.perform(post("/api/v1/messages/verify/async")
+                        .header(HttpHeaders.AUTHORIZATION, BEARER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"a claim\",\"userId\":1}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+}
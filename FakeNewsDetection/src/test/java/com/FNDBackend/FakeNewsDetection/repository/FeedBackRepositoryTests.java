@@ -0,0 +1,137 @@
+package com.FNDBackend.FakeNewsDetection.repository;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackResponseDTO;
+import com.FNDBackend.FakeNewsDetection.model.Feedback;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FeedBackRepositoryTests {
+
+    private static final int VOTERS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FeedBackRepository feedBackRepository;
+
+    private final List<User> voters = new ArrayList<>();
+    private final List<Message> messages = new ArrayList<>();
+    private final List<Long> votesOnFirst = new ArrayList<>();
+    private final List<Long> votesByFirst = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+
+        for (int i = 0; i < VOTERS; i++) voters.add(user());
+        for (int i = 0; i < 3; i++) messages.add(message());
+
+        for (Message message : messages) {
+            for (User voter : voters) {
+                Feedback vote = vote(voter, message);
+                if (message == messages.get(0)) votesOnFirst.add(vote.getId());
+                if (voter == voters.get(0)) votesByFirst.add(vote.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void messagePagesVisitEveryVoteOnceInIdOrder() {
+
+        Long messageId = messages.get(0).getId();
+
+        for (int size = 1; size <= VOTERS + 1; size++) {
+            assertEquals(votesOnFirst, walk(size,
+                    (afterId, pageSize) -> feedBackRepository.findPageByMessageId(messageId, afterId, PageRequest.of(0, pageSize))),
+                    "page size " + size);
+        }
+    }
+
+    @Test
+    void userPagesVisitEveryVoteOnceInIdOrder() {
+
+        Long userId = voters.get(0).getId();
+
+        for (int size = 1; size <= messages.size() + 1; size++) {
+            assertEquals(votesByFirst, walk(size,
+                    (afterId, pageSize) -> feedBackRepository.findPageByUserId(userId, afterId, PageRequest.of(0, pageSize))),
+                    "page size " + size);
+        }
+    }
+
+    @Test
+    void pageStartsStrictlyAfterCursor() {
+
+        Long messageId = messages.get(0).getId();
+        Long cursor = votesOnFirst.get(1);
+
+        List<FeedBackResponseDTO> page = feedBackRepository.findPageByMessageId(messageId, cursor, PageRequest.of(0, 10));
+
+        assertEquals(votesOnFirst.subList(2, VOTERS), page.stream().map(FeedBackResponseDTO::getId).toList());
+        assertTrue(feedBackRepository.findPageByMessageId(messageId, votesOnFirst.get(VOTERS - 1), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void bulkDeleteRemovesOnlyVotesOnGivenMessages() {
+
+        List<Long> deleted = List.of(messages.get(0).getId(), messages.get(2).getId());
+
+        assertEquals(2 * VOTERS, feedBackRepository.deleteAllByMessageIdIn(deleted));
+
+        List<Feedback> left = feedBackRepository.findAll().stream()
+                .filter(vote -> messages.stream().anyMatch(m -> m.getId().equals(vote.getMessage().getId())))
+                .toList();
+        assertEquals(VOTERS, left.size());
+        assertTrue(left.stream().allMatch(vote -> vote.getMessage().getId().equals(messages.get(1).getId())));
+    }
+
+    private static List<Long> walk(int size, BiFunction<Long, Integer, List<FeedBackResponseDTO>> page) {
+
+        List<Long> seen = new ArrayList<>();
+        long afterId = 0;
+
+        while (true) {
+            List<FeedBackResponseDTO> current = page.apply(afterId, size);
+            if (current.isEmpty()) return seen;
+
+            current.forEach(vote -> seen.add(vote.getId()));
+            afterId = current.get(current.size() - 1).getId();
+        }
+    }
+
+    private Feedback vote(User voter, Message message) {
+
+        Feedback vote = new Feedback();
+        vote.setUser(voter);
+        vote.setMessage(message);
+        vote.setLiked(true);
+        return entityManager.persist(vote);
+    }
+
+    private Message message() {
+        return entityManager.persist(TestFixtures.message(voters.get(0), "feedback claim"));
+    }
+
+    private User user() {
+        return entityManager.persist(TestFixtures.user("voter"));
+    }
+}
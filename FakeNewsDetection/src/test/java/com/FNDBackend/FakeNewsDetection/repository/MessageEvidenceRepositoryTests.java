@@ -0,0 +1,142 @@
+package com.FNDBackend.FakeNewsDetection.repository;
+
+import com.FNDBackend.FakeNewsDetection.model.MessageEvidence;
+import com.FNDBackend.FakeNewsDetection.service.EvidenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// EvidenceService.deleteByMessages: native UPDATE ... FROM statements, so Postgres only.
+// Ids are message ids; message_evidence has no foreign key to messages.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EvidenceService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class MessageEvidenceRepositoryTests {
+
+    private static final long OWNER = 9_100_001L;
+    private static final long FIRST_COPY = 9_100_002L;
+    private static final long SECOND_COPY = 9_100_003L;
+    private static final long THIRD_COPY = 9_100_004L;
+    private static final long UNRELATED = 9_100_010L;
+
+    private static final byte[] OWNER_DATA = {1, 2, 3};
+    private static final byte[] UNRELATED_DATA = {9};
+    private static final LocalDateTime FETCHED_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MessageEvidenceRepository evidenceRepository;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @BeforeEach
+    void seed() {
+
+        owner(OWNER, OWNER_DATA);
+        reference(FIRST_COPY, OWNER);
+        reference(SECOND_COPY, OWNER);
+        reference(THIRD_COPY, OWNER);
+        owner(UNRELATED, UNRELATED_DATA);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deletingOwnerPromotesLowestSurvivingCopy() {
+
+        delete(List.of(OWNER));
+
+        assertTrue(evidenceRepository.findById(OWNER).isEmpty());
+        assertOwner(FIRST_COPY, OWNER_DATA);
+        assertEquals(FIRST_COPY, row(SECOND_COPY).getSourceMessageId());
+        assertEquals(FIRST_COPY, row(THIRD_COPY).getSourceMessageId());
+        assertOwner(UNRELATED, UNRELATED_DATA);
+    }
+
+    @Test
+    void deletingOwnerWithSomeCopiesPromotesAmongSurvivors() {
+
+        delete(List.of(OWNER, FIRST_COPY));
+
+        assertOwner(SECOND_COPY, OWNER_DATA);
+        assertEquals(SECOND_COPY, row(THIRD_COPY).getSourceMessageId());
+    }
+
+    @Test
+    void deletingCopiesLeavesOwnerAlone() {
+
+        delete(List.of(FIRST_COPY, THIRD_COPY));
+
+        assertOwner(OWNER, OWNER_DATA);
+        assertEquals(OWNER, row(SECOND_COPY).getSourceMessageId());
+        assertTrue(evidenceRepository.findById(FIRST_COPY).isEmpty());
+    }
+
+    @Test
+    void deletingEveryRowOfAClaimLeavesNothing() {
+
+        delete(List.of(OWNER, FIRST_COPY, SECOND_COPY, THIRD_COPY));
+
+        for (long id : new long[]{OWNER, FIRST_COPY, SECOND_COPY, THIRD_COPY}) {
+            assertTrue(evidenceRepository.findById(id).isEmpty());
+        }
+        assertOwner(UNRELATED, UNRELATED_DATA);
+    }
+
+    // the bulk statements bypass the persistence context
+    private void delete(List<Long> messageIds) {
+        evidenceService.deleteByMessages(messageIds);
+        entityManager.clear();
+    }
+
+    private void assertOwner(long messageId, byte[] data) {
+
+        MessageEvidence evidence = row(messageId);
+        assertNull(evidence.getSourceMessageId());
+        assertArrayEquals(data, evidence.getData());
+        assertEquals(FETCHED_AT, evidence.getFetchedAt());
+    }
+
+    private MessageEvidence row(long messageId) {
+        Optional<MessageEvidence> evidence = evidenceRepository.findById(messageId);
+        assertTrue(evidence.isPresent(), "no evidence row for " + messageId);
+        return evidence.get();
+    }
+
+    private void owner(long messageId, byte[] data) {
+
+        MessageEvidence evidence = new MessageEvidence();
+        evidence.setMessageId(messageId);
+        evidence.setData(data);
+        evidence.setFetchedAt(FETCHED_AT);
+        entityManager.persist(evidence);
+    }
+
+    private void reference(long messageId, long ownerId) {
+
+        MessageEvidence evidence = new MessageEvidence();
+        evidence.setMessageId(messageId);
+        evidence.setSourceMessageId(ownerId);
+        entityManager.persist(evidence);
+    }
+}
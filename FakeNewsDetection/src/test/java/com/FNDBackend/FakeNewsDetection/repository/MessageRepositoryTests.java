@@ -0,0 +1,119 @@
+package com.FNDBackend.FakeNewsDetection.repository;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs against the configured PostgreSQL: several queries in this package are native Postgres SQL
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MessageRepositoryTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private User author;
+    private final List<Message> history = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+
+        author = user();
+        User other = user();
+
+        // three messages share a day, so page boundaries fall inside a date tie
+        LocalDate[] days = {TODAY, TODAY, TODAY, TODAY.minusDays(1), TODAY.minusDays(1), TODAY.minusDays(3), TODAY.minusDays(3)};
+        for (LocalDate day : days) {
+            history.add(message(author, day));
+            message(other, day);
+        }
+        entityManager.clear();
+
+        history.sort(Comparator.comparing(Message::getCreatedAt).thenComparing(Message::getId).reversed());
+    }
+
+    @Test
+    void historyPagesVisitEveryMessageOnceNewestFirst() {
+
+        for (int size = 1; size <= history.size() + 1; size++) {
+            assertEquals(ids(history), ids(walk(PageRequest.of(0, size))), "page size " + size);
+        }
+    }
+
+    @Test
+    void pageContinuesStrictlyAfterCursor() {
+
+        Message cursor = history.get(1);
+
+        List<Message> next = messageRepository.findHistoryBefore(author.getId(),
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 10));
+
+        assertEquals(ids(history.subList(2, history.size())), ids(next));
+    }
+
+    @Test
+    void lastPageIsFollowedByEmptyPage() {
+
+        Message oldest = history.get(history.size() - 1);
+
+        assertTrue(messageRepository.findHistoryBefore(author.getId(),
+                oldest.getCreatedAt(), oldest.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private List<Message> walk(Pageable page) {
+
+        List<Message> seen = new ArrayList<>(messageRepository.findHistory(author.getId(), page));
+        List<Message> current = seen;
+
+        while (!current.isEmpty()) {
+            Message last = current.get(current.size() - 1);
+            current = messageRepository.findHistoryBefore(author.getId(), last.getCreatedAt(), last.getId(), page);
+            seen.addAll(current);
+        }
+        return seen;
+    }
+
+    private static List<Long> ids(List<Message> messages) {
+        return messages.stream().map(Message::getId).toList();
+    }
+
+    // createdAt is set on insert and not updatable, so older days are written directly
+    private Message message(User user, LocalDate createdAt) {
+
+        Message message = entityManager.persistFlushFind(TestFixtures.message(user, "history claim"));
+
+        entityManager.getEntityManager()
+                .createNativeQuery("update messages set created_at = :day where id = :id")
+                .setParameter("day", createdAt)
+                .setParameter("id", message.getId())
+                .executeUpdate();
+        message.setCreatedAt(createdAt);
+
+        return message;
+    }
+
+    private User user() {
+        return entityManager.persist(TestFixtures.user("history"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.EvidenceDTO;
+import com.FNDBackend.FakeNewsDetection.dto.FactCheckResponse;
+import com.FNDBackend.FakeNewsDetection.dto.SearchResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EvidenceServiceTests {
+
+    // evidence rows are keyed by message id but have no foreign key
+    private static final Long MESSAGE_ID = -1L;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @AfterEach
+    void cleanUp() {
+        evidenceService.deleteByMessages(List.of(MESSAGE_ID));
+    }
+
+    @Test
+    void fallbackResultDoesNotReplaceStoredEvidence() {
+
+        evidenceService.save(MESSAGE_ID, factCheck("first"), search("first"));
+        evidenceService.save(MESSAGE_ID, FactCheckResponse.unavailable(), SearchResponse.unavailable());
+
+        EvidenceDTO evidence = evidenceService.getEvidence(MESSAGE_ID);
+        assertEquals("first", evidence.getFactCheckResponse().getClaims().get(0).getText());
+        assertEquals("first", evidence.getSearchResponse().getItems().get(0).getTitle());
+    }
+
+    @Test
+    void partialFallbackKeepsTheOtherHalf() {
+
+        evidenceService.save(MESSAGE_ID, factCheck("first"), search("first"));
+        evidenceService.save(MESSAGE_ID, FactCheckResponse.unavailable(), search("second"));
+
+        EvidenceDTO evidence = evidenceService.getEvidence(MESSAGE_ID);
+        assertEquals("first", evidence.getFactCheckResponse().getClaims().get(0).getText());
+        assertEquals("second", evidence.getSearchResponse().getItems().get(0).getTitle());
+    }
+
+    @Test
+    void fallbackResultAloneStoresNothing() {
+
+        evidenceService.save(MESSAGE_ID, FactCheckResponse.unavailable(), SearchResponse.unavailable());
+
+        assertTrue(evidenceService.find(MESSAGE_ID).isEmpty());
+    }
+
+    private static FactCheckResponse factCheck(String text) {
+
+        FactCheckResponse.Claim claim = new FactCheckResponse.Claim();
+        claim.setText(text);
+
+        FactCheckResponse response = new FactCheckResponse();
+        response.setClaims(List.of(claim));
+        return response;
+    }
+
+    private static SearchResponse search(String title) {
+        return new SearchResponse(List.of(new SearchResponse.SearchItem(title, "https://example.org", "snippet")), false);
+    }
+}
@@ -0,0 +1,166 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackRequestDTO;
+import com.FNDBackend.FakeNewsDetection.dto.FeedBackStatsDTO;
+import com.FNDBackend.FakeNewsDetection.dto.TrendingClaimDTO;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class FeedbackServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private User author;
+    private User voter;
+
+    @BeforeEach
+    void seed() {
+        author = user("author");
+        voter = user("voter");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        messageService.purgeMessages(author.getId(), null);
+        userRepository.deleteAll(users);
+    }
+
+    // Identical flips racing each other must move the counters once, not once per request
+    @Test
+    void concurrentFlipsKeepCountersConsistent() throws Exception {
+
+        Message message = message();
+        feedbackService.addOrUpdateFeedBack(vote(message, true));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 6; round++) {
+                boolean liked = round % 2 == 1;
+                CountDownLatch start = new CountDownLatch(1);
+
+                List<Future<?>> flips = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    flips.add(pool.submit(() -> {
+                        start.await();
+                        return feedbackService.addOrUpdateFeedBack(vote(message, liked));
+                    }));
+                }
+                start.countDown();
+                for (Future<?> flip : flips) flip.get();
+
+                FeedBackStatsDTO stats = feedbackService.getFeedBackStats(message.getId());
+                assertEquals(liked ? 1 : 0, stats.getTotalLikes(), "likes after round " + round);
+                assertEquals(liked ? 0 : 1, stats.getTotalDislikes(), "dislikes after round " + round);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // The same user's first vote arriving twice at once: nothing to lock yet,
+    // so both requests try to insert
+    @Test
+    void concurrentFirstVotesCreateOneVote() throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                Message message = message();
+                CountDownLatch start = new CountDownLatch(1);
+
+                List<Future<?>> votes = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    votes.add(pool.submit(() -> {
+                        start.await();
+                        return feedbackService.addOrUpdateFeedBack(vote(message, true));
+                    }));
+                }
+                start.countDown();
+                for (Future<?> vote : votes) vote.get();
+
+                FeedBackStatsDTO stats = feedbackService.getFeedBackStats(message.getId());
+                assertEquals(1, stats.getTotalLikes(), "likes in round " + round);
+                assertEquals(1, feedbackService.getFeedBackByMessage(message.getId(), null, 10).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void onlyCommittedVotesReachTrending() {
+
+        Message rolledBack = message();
+        Message committed = message();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            feedbackService.addOrUpdateFeedBack(vote(rolledBack, true));
+            status.setRollbackOnly();
+        });
+        feedbackService.addOrUpdateFeedBack(vote(committed, true));
+
+        List<Long> trending = trendingService.top(100).stream().map(TrendingClaimDTO::getMessageId).toList();
+        assertFalse(trending.contains(rolledBack.getId()));
+        assertTrue(trending.contains(committed.getId()));
+    }
+
+    private FeedBackRequestDTO vote(Message message, boolean liked) {
+
+        FeedBackRequestDTO vote = new FeedBackRequestDTO();
+        vote.setUserID(voter.getId());
+        vote.setMessageId(message.getId());
+        vote.setLiked(liked);
+        return vote;
+    }
+
+    private Message message() {
+        return messageRepository.save(TestFixtures.message(author, "feedback claim"));
+    }
+
+    private User user(String name) {
+
+        User user = userRepository.save(TestFixtures.user(name));
+        users.add(user);
+        return user;
+    }
+}
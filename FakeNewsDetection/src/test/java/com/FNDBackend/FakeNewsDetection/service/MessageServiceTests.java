@@ -0,0 +1,129 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.dto.FactCheckResponse;
+import com.FNDBackend.FakeNewsDetection.dto.SearchResponse;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Verdict reuse paths; the seeded verdicts mean no upstream call is made.
+@SpringBootTest
+class MessageServiceTests {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private User author;
+    private User reader;
+    private Message verified;
+
+    @BeforeEach
+    void seed() {
+
+        author = user("author");
+        reader = user("reader");
+
+        verified = TestFixtures.message(author, "reused verdict claim");
+        verified.setVerdict("FALSE");
+        verified.setConfidence(90);
+        verified.setVerifiedAt(LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.MILLIS));
+        verified = messageRepository.save(verified);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (User user : users) messageService.purgeMessages(user.getId(), null);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void reusedVerdictKeepsSourceVerificationTime() {
+
+        Long copyId = messageService.processMessage(verified.getContent(), reader.getId()).getId();
+
+        assertNotEquals(verified.getId(), copyId);
+        assertEquals(verified.getVerifiedAt(), messageRepository.findById(copyId).orElseThrow().getVerifiedAt());
+    }
+
+    @Test
+    void reusedVerdictSharesSourceEvidence() {
+
+        evidenceService.save(verified.getId(), factCheck("seeded fact check"), new SearchResponse());
+
+        Long copyId = messageService.processMessage(verified.getContent(), reader.getId()).getId();
+
+        assertEquals("seeded fact check",
+                evidenceService.getEvidence(copyId).getFactCheckResponse().getClaims().get(0).getText());
+    }
+
+    @Test
+    void copiesKeepEvidenceWhenSourceIsDeleted() {
+
+        evidenceService.save(verified.getId(), factCheck("seeded fact check"), new SearchResponse());
+        Long first = messageService.processMessage(verified.getContent(), reader.getId()).getId();
+        Long second = messageService.processMessage(verified.getContent(), user("second reader").getId()).getId();
+
+        messageService.deleteMessage(verified.getId());
+
+        assertTrue(evidenceService.find(verified.getId()).isEmpty());
+        assertEquals("seeded fact check",
+                evidenceService.getEvidence(first).getFactCheckResponse().getClaims().get(0).getText());
+        assertEquals("seeded fact check",
+                evidenceService.getEvidence(second).getFactCheckResponse().getClaims().get(0).getText());
+    }
+
+    @Test
+    void purgeRejectsFutureCutOff() {
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> messageService.purgeMessages(null, LocalDate.now().plusDays(1)));
+
+        assertEquals("olderThan must not be in the future", e.getMessage());
+        assertTrue(messageRepository.existsById(verified.getId()));
+    }
+
+    private static FactCheckResponse factCheck(String text) {
+
+        FactCheckResponse.Claim claim = new FactCheckResponse.Claim();
+        claim.setText(text);
+
+        FactCheckResponse response = new FactCheckResponse();
+        response.setClaims(List.of(claim));
+        return response;
+    }
+
+    private User user(String name) {
+
+        User user = userRepository.save(TestFixtures.user(name));
+        users.add(user);
+        return user;
+    }
+}
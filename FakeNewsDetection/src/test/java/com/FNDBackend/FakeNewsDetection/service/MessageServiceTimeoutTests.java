@@ -0,0 +1,90 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationResult;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// An upstream verification that outlives verification.waiter-timeout
+@SpringBootTest(properties = {"verification.waiter-timeout=300ms", "reverification.enabled=false"})
+class MessageServiceTimeoutTests {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @MockBean
+    private VerificationService verificationService;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        messageService.purgeMessages(user.getId(), null);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void timedOutWaiterGetsPendingMessage() {
+
+        user = userRepository.save(TestFixtures.user("waiter"));
+
+        when(verificationService.verifyAsync(any())).thenReturn(Mono.never());
+
+        MessageRespDto response = messageService.processMessage("slow claim " + UUID.randomUUID(), user.getId());
+
+        Message stored = messageRepository.findById(response.getId()).orElseThrow();
+        assertEquals(VerdictCacheService.PENDING, response.getVerdict());
+        assertEquals(VerdictCacheService.PENDING, stored.getVerdict());
+    }
+
+    @Test
+    void timedOutWaiterTakesTheVerdictWhenItArrives() throws Exception {
+
+        user = userRepository.save(TestFixtures.user("waiter"));
+
+        Sinks.One<VerificationResult> upstream = Sinks.one();
+        when(verificationService.verifyAsync(any())).thenReturn(upstream.asMono());
+
+        Long id = messageService.processMessage("slow claim " + UUID.randomUUID(), user.getId()).getId();
+
+        VerificationResult result = new VerificationResult();
+        result.setVerdict("FALSE");
+        result.setConfidence(90);
+        result.setSummary("late verdict");
+        upstream.tryEmitValue(result);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        Message stored = messageRepository.findById(id).orElseThrow();
+        while (VerdictCacheService.PENDING.equals(stored.getVerdict()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            stored = messageRepository.findById(id).orElseThrow();
+        }
+
+        assertEquals("FALSE", stored.getVerdict());
+        assertEquals("late verdict", stored.getSummary());
+        assertEquals("FALSE", messageService.getMessage(id).getVerdict());
+    }
+}
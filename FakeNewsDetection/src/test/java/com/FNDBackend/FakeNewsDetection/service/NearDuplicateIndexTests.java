@@ -0,0 +1,144 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.util.MinHash;
+import com.FNDBackend.FakeNewsDetection.util.SyntheticClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTests {
+
+    private static final double THRESHOLD = 0.8;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final SyntheticClaims claims = new SyntheticClaims(42);
+
+    @Test
+    void findsRewordedClaim() {
+
+        NearDuplicateIndex index = index(64);
+        String claim = claims.claim();
+        index.add(1L, claim);
+        index.add(2L, claims.claim());
+
+        assertEquals(Optional.of(1L), index.findSimilar(claims.restyled(claim)));
+        assertEquals(Optional.of(1L), index.findSimilar(claims.withWordInserted(claim)));
+    }
+
+    @Test
+    void ignoresUnrelatedClaim() {
+
+        NearDuplicateIndex index = index(64);
+        for (long id = 0; id < 1_000; id++) index.add(id, claims.claim());
+
+        assertEquals(Optional.empty(), index.findSimilar(claims.claim()));
+    }
+
+    @Test
+    void removedClaimIsNoLongerFound() {
+
+        NearDuplicateIndex index = index(64);
+        String claim = claims.claim();
+        index.add(1L, claim);
+        index.remove(1L);
+
+        assertEquals(Optional.empty(), index.findSimilar(claim));
+        assertEquals(0, size());
+    }
+
+    @Test
+    void pendingVerdictsAreNotIndexed() {
+
+        NearDuplicateIndex index = index(64);
+        Message message = new Message();
+        message.setId(1L);
+        message.setContent(claims.claim());
+        message.setVerdict(VerdictCacheService.PENDING);
+
+        index.add(message);
+
+        assertEquals(0, size());
+    }
+
+    @Test
+    void evictsOldestEntriesAtTheMemoryCap() {
+
+        NearDuplicateIndex index = index(1);
+        int cap = 1024 * 1024 / NearDuplicateIndex.BYTES_PER_ENTRY;
+
+        List<String> added = new ArrayList<>();
+        for (long id = 0; id < cap + 10; id++) {
+            String claim = claims.claim();
+            added.add(claim);
+            index.add(id, claim);
+        }
+
+        assertEquals(cap, size());
+        assertEquals(Optional.empty(), index.findSimilar(added.get(0)));
+        assertEquals(Optional.of((long) cap + 9), index.findSimilar(added.get(cap + 9)));
+    }
+
+    // The memory cap is only as good as the per-entry estimate it divides by
+    @Test
+    void perEntryEstimateMatchesMeasuredLayout() {
+
+        int entries = 4_000;
+        long empty = GraphLayout.parseInstance(index(1024)).totalSize();
+
+        NearDuplicateIndex index = index(1024);
+        for (long id = 0; id < entries; id++) index.add(id, claims.claim());
+
+        double measured = (GraphLayout.parseInstance(index).totalSize() - empty) / (double) entries;
+
+        assertTrue(measured <= NearDuplicateIndex.BYTES_PER_ENTRY * 1.05,
+                "measured " + measured + " bytes per entry");
+        assertTrue(measured >= NearDuplicateIndex.BYTES_PER_ENTRY * 0.85,
+                "measured " + measured + " bytes per entry");
+    }
+
+    // LSH may only miss what the signature comparison itself would reject:
+    // with 16 bands of 4 rows a pair at 0.8 shares a band with p > 0.999.
+    @Test
+    void recallForPairsAboveThreshold() {
+
+        int stored = 20_000;
+        NearDuplicateIndex index = index(1024);
+        List<String> added = new ArrayList<>();
+        for (long id = 0; id < stored; id++) {
+            String claim = claims.claim();
+            added.add(claim);
+            index.add(id, claim);
+        }
+
+        int eligible = 0;
+        int found = 0;
+        for (int id = 0; id < 2_000; id++) {
+            String original = added.get(id);
+            String query = id % 2 == 0 ? claims.withWordReplaced(original) : claims.withWordInserted(original);
+
+            if (MinHash.similarity(MinHash.signature(query), MinHash.signature(original)) < THRESHOLD) continue;
+            eligible++;
+            if (index.findSimilar(query).isPresent()) found++;
+        }
+
+        assertTrue(eligible > 1_000, "eligible " + eligible);
+        assertTrue(found >= eligible * 0.99, found + " of " + eligible);
+    }
+
+    private NearDuplicateIndex index(long memoryBudgetMb) {
+        return new NearDuplicateIndex(null, registry, true, THRESHOLD, memoryBudgetMb, 5_000);
+    }
+
+    private double size() {
+        return registry.get("near-duplicate.index.size").gauge().value();
+    }
+}
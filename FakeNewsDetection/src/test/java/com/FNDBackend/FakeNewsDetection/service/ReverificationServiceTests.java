@@ -0,0 +1,166 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.dto.FactCheckResponse;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationResult;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Batches are smaller than the number of copies of the viral claim, and the
+// schedule never fires on its own; the tests start passes themselves.
+@SpringBootTest(properties = {"reverification.interval=PT1H", "reverification.batch-size=4",
+        "reverification.max-per-minute=6000"})
+class ReverificationServiceTests {
+
+    private static final int COPIES = 10;
+
+    @Autowired
+    private ReverificationService reverificationService;
+
+    @Autowired
+    private EvidenceService evidenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @MockBean
+    private VerificationService verificationService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    @Qualifier("verificationExecutor")
+    private ThreadPoolTaskExecutor verificationExecutor;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Message> copies = new ArrayList<>();
+    private Message pending;
+
+    @BeforeEach
+    void seed() {
+
+        when(verificationService.verifyAsync(any())).thenAnswer(call -> Mono.just(result("re-checked")));
+
+        // every copy shares the source's verifiedAt, so they all go stale together
+        LocalDateTime verifiedAt = LocalDateTime.now().minusDays(30);
+        Message source = TestFixtures.message(user("source"), "viral claim");
+        for (int i = 0; i < COPIES; i++) {
+            Message copy = TestFixtures.message(user("reader " + i), "viral claim");
+            copy.setContent(source.getContent());
+            copy.setContentHash(source.getContentHash());
+            copy.setFingerprint(source.getFingerprint());
+            copy.setVerifiedAt(verifiedAt);
+            copies.add(messageRepository.save(copy));
+        }
+
+        // newer than every copy, and still PENDING
+        pending = TestFixtures.message(user("late"), "pending claim");
+        pending.setVerdict(VerdictCacheService.PENDING);
+        pending.setConfidence(0);
+        pending = messageRepository.save(pending);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (User user : users) messageService.purgeMessages(user.getId(), null);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void viralClaimIsVerifiedOnceForAllCopies() {
+
+        reverificationService.reverifyBatch();
+        reverificationService.reverifyBatch();
+
+        verify(verificationService, times(1)).verifyAsync(eq(copies.get(0).getContent()));
+
+        Long owner = copies.get(0).getId();
+        for (Message copy : copies) {
+            Message stored = messageRepository.findById(copy.getId()).orElseThrow();
+            assertEquals("FALSE", stored.getVerdict());
+            assertTrue(stored.getVerifiedAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+            assertEquals("re-checked",
+                    evidenceService.getEvidence(copy.getId()).getFactCheckResponse().getClaims().get(0).getText());
+        }
+        assertTrue(evidenceService.find(owner).isPresent());
+    }
+
+    @Test
+    void pendingClaimsAreNotStarvedByStaleCopies() {
+
+        reverificationService.reverifyBatch();
+
+        verify(verificationService).verifyAsync(eq(pending.getContent()));
+        assertEquals("FALSE", messageRepository.findById(pending.getId()).orElseThrow().getVerdict());
+    }
+
+    // Upstream calls must not hold the scheduler thread that other @Scheduled tasks share
+    @Test
+    void scheduledPassRunsOnTheVerificationPool() throws Exception {
+
+        CompletableFuture<String> upstreamThread = new CompletableFuture<>();
+        when(verificationService.verifyAsync(any())).thenAnswer(call -> {
+            upstreamThread.complete(Thread.currentThread().getName());
+            return Mono.just(result("re-checked"));
+        });
+
+        reverificationService.reverifyDue();
+
+        assertTrue(upstreamThread.get(10, TimeUnit.SECONDS).startsWith("verify-"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (verificationExecutor.getActiveCount() > 0 && System.nanoTime() < deadline) Thread.sleep(10);
+        assertEquals("FALSE", messageRepository.findById(pending.getId()).orElseThrow().getVerdict());
+    }
+
+    private User user(String name) {
+
+        User user = userRepository.save(TestFixtures.user(name));
+        users.add(user);
+        return user;
+    }
+
+    private static VerificationResult result(String evidence) {
+
+        FactCheckResponse.Claim claim = new FactCheckResponse.Claim();
+        claim.setText(evidence);
+        FactCheckResponse factCheck = new FactCheckResponse();
+        factCheck.setClaims(List.of(claim));
+
+        VerificationResult result = new VerificationResult();
+        result.setVerdict("FALSE");
+        result.setConfidence(85);
+        result.setSummary("re-verified");
+        result.setFactCheckResponse(factCheck);
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.TestFixtures;
+import com.FNDBackend.FakeNewsDetection.model.Feedback;
+import com.FNDBackend.FakeNewsDetection.model.Message;
+import com.FNDBackend.FakeNewsDetection.model.User;
+import com.FNDBackend.FakeNewsDetection.repository.FeedBackRepository;
+import com.FNDBackend.FakeNewsDetection.repository.MessageRepository;
+import com.FNDBackend.FakeNewsDetection.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Guards the read paths against N+1 regressions: each call must cost a fixed
+// number of statements no matter how many rows it returns.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StatementCountTests {
+
+    private static final int VOTES = 20;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private FeedBackRepository feedBackRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<User> users = new ArrayList<>();
+    private final List<Feedback> feedbacks = new ArrayList<>();
+    private Message message;
+
+    @BeforeEach
+    void seed() {
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < VOTES; i++) {
+            users.add(userRepository.save(TestFixtures.user("voter " + i)));
+        }
+
+        message = messageRepository.save(TestFixtures.message(users.get(0), "statement count claim"));
+
+        for (User user : users) {
+            Feedback feedback = new Feedback();
+            feedback.setUser(user);
+            feedback.setMessage(message);
+            feedback.setLiked(true);
+            feedbacks.add(feedback);
+        }
+        feedBackRepository.saveAll(feedbacks);
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        feedBackRepository.deleteAll(feedbacks);
+        messageRepository.delete(message);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void feedbackByMessageIsExistenceCheckPlusOnePage() {
+
+        assertEquals(VOTES, feedbackService.getFeedBackByMessage(message.getId(), null, 100).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void feedbackByUserIsExistenceCheckPlusOnePage() {
+
+        assertEquals(1, feedbackService.getFeedBackByUser(users.get(1).getId(), null, 100).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void messageIsLoadedWithItsAuthorInOneQuery() {
+
+        assertEquals("voter 0", messageService.getMessage(message.getId()).getAuthorName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void historyPageIsExistenceCheckPlusOneQuery() {
+
+        assertEquals(1, messageService.getHistory(users.get(0).getId(), null, null, 20).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void feedbackStatsReadOnlyTheCounters() {
+
+        feedbackService.getFeedBackStats(message.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
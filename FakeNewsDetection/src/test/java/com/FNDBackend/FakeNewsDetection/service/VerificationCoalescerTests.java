@@ -0,0 +1,168 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.VerificationResult;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerificationCoalescerTests {
+
+    private static final String FINGERPRINT = "fp";
+    private static final String CLAIM = "the moon is made of cheese";
+
+    private final VerificationService verificationService = mock(VerificationService.class);
+    private final VerificationCoalescer coalescer =
+            new VerificationCoalescer(verificationService, new SimpleMeterRegistry(), Duration.ofSeconds(5));
+
+    @Test
+    void concurrentStreamsOpenOneGeminiStream() {
+
+        Sinks.Many<VerificationUpdate> gemini = Sinks.many().unicast().onBackpressureBuffer();
+        when(verificationService.verifyStream(any())).thenReturn(gemini.asFlux());
+
+        List<VerificationUpdate> leader = new CopyOnWriteArrayList<>();
+        List<VerificationUpdate> waiter = new CopyOnWriteArrayList<>();
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(leader::add);
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(waiter::add);
+
+        gemini.tryEmitNext(VerificationUpdate.delta("{\"verdict\""));
+        gemini.tryEmitNext(VerificationUpdate.result(result("FALSE")));
+        gemini.tryEmitComplete();
+
+        verify(verificationService, times(1)).verifyStream(any());
+        assertEquals(2, leader.size());
+        assertEquals(1, waiter.size());
+        assertEquals("FALSE", waiter.get(0).getResult().getVerdict());
+    }
+
+    @Test
+    void unaryRequestJoinsStreamingVerification() {
+
+        Sinks.Many<VerificationUpdate> gemini = Sinks.many().unicast().onBackpressureBuffer();
+        when(verificationService.verifyStream(any())).thenReturn(gemini.asFlux());
+
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe();
+        AtomicReference<VerificationResult> joined = new AtomicReference<>();
+        coalescer.verify(FINGERPRINT, CLAIM).subscribe(joined::set);
+
+        gemini.tryEmitNext(VerificationUpdate.result(result("TRUE")));
+        gemini.tryEmitComplete();
+
+        verify(verificationService, never()).verifyAsync(any());
+        assertEquals("TRUE", joined.get().getVerdict());
+    }
+
+    @Test
+    void streamJoinsUnaryVerification() {
+
+        Sinks.One<VerificationResult> upstream = Sinks.one();
+        when(verificationService.verifyAsync(any())).thenReturn(upstream.asMono());
+
+        coalescer.verify(FINGERPRINT, CLAIM).subscribe();
+        List<VerificationUpdate> updates = new CopyOnWriteArrayList<>();
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(updates::add);
+
+        upstream.tryEmitValue(result("FALSE"));
+
+        verify(verificationService, never()).verifyStream(any());
+        assertEquals(1, updates.size());
+        assertNull(updates.get(0).getDelta());
+    }
+
+    // A leader whose client disconnects must not cut the verification short
+    // for the requests waiting on it.
+    @Test
+    void cancelledLeaderKeepsStreamingForWaiters() {
+
+        Sinks.Many<VerificationUpdate> gemini = Sinks.many().unicast().onBackpressureBuffer();
+        when(verificationService.verifyStream(any())).thenReturn(gemini.asFlux());
+
+        Disposable leader = coalescer.stream(FINGERPRINT, CLAIM).subscribe();
+        List<VerificationUpdate> waiter = new CopyOnWriteArrayList<>();
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(waiter::add);
+
+        leader.dispose();
+        gemini.tryEmitNext(VerificationUpdate.delta("{\"verdict\""));
+        gemini.tryEmitNext(VerificationUpdate.result(result("FALSE")));
+        gemini.tryEmitComplete();
+
+        verify(verificationService, times(1)).verifyStream(any());
+        assertEquals(1, waiter.size());
+        assertEquals("FALSE", waiter.get(0).getResult().getVerdict());
+    }
+
+    // A Gemini stream that fails must not leave waiters hanging or the
+    // fingerprint stuck in flight.
+    @Test
+    void failedLeaderReleasesWaiters() {
+
+        Sinks.Many<VerificationUpdate> gemini = Sinks.many().unicast().onBackpressureBuffer();
+        when(verificationService.verifyStream(any())).thenReturn(gemini.asFlux());
+
+        AtomicReference<Throwable> leaderError = new AtomicReference<>();
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(update -> { }, leaderError::set);
+        List<VerificationUpdate> waiter = new CopyOnWriteArrayList<>();
+        boolean[] completed = {false};
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(waiter::add, e -> { }, () -> completed[0] = true);
+
+        gemini.tryEmitError(new IllegalStateException("gemini down"));
+
+        assertTrue(leaderError.get() instanceof IllegalStateException);
+        assertTrue(completed[0]);
+        assertTrue(waiter.isEmpty());
+
+        coalescer.stream(FINGERPRINT, CLAIM).subscribe(update -> { }, e -> { });
+        verify(verificationService, times(2)).verifyStream(any());
+    }
+
+    @Test
+    void finishingLeaderOnlyRemovesItsOwnEntry() {
+
+        Sinks.One<VerificationResult> late = Sinks.one();
+        when(verificationService.verifyAsync(any())).thenReturn(late.asMono());
+        coalescer.verify(FINGERPRINT, CLAIM).subscribe();
+
+        // stands in for a verification of the claim started after this one
+        Map<String, Mono<VerificationResult>> inFlight = inFlight();
+        Mono<VerificationResult> newer = Mono.never();
+        inFlight.put(FINGERPRINT, newer);
+
+        late.tryEmitValue(result("FALSE"));
+
+        assertSame(newer, inFlight.get(FINGERPRINT));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Mono<VerificationResult>> inFlight() {
+        return (Map<String, Mono<VerificationResult>>) ReflectionTestUtils.getField(coalescer, "inFlight");
+    }
+
+    private static VerificationResult result(String verdict) {
+
+        VerificationResult result = new VerificationResult();
+        result.setVerdict(verdict);
+        result.setConfidence(90);
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.FNDBackend.FakeNewsDetection.service;
+
+import com.FNDBackend.FakeNewsDetection.dto.MessageRespDto;
+import com.FNDBackend.FakeNewsDetection.dto.VerificationJobDTO;
+import com.FNDBackend.FakeNewsDetection.repository.VerificationJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class VerificationJobServiceTests {
+
+    private static final Long DELETED_MESSAGE = 404L;
+
+    @Autowired
+    private VerificationJobService verificationJobService;
+
+    @Autowired
+    private VerificationJobRepository jobRepository;
+
+    @MockBean
+    private MessageService messageService;
+
+    // Upstream error bodies end up in the message; they must not fail the FAILED update
+    @Test
+    void longFailureMessageIsStored() throws Exception {
+
+        String error = "upstream said: " + "x".repeat(2000);
+        when(messageService.processMessage(any(), any())).thenThrow(new RuntimeException(error));
+
+        VerificationJobDTO job = verificationJobService.submit("a claim", 1L);
+
+        try {
+            VerificationJobDTO finished = verificationJobService.getJob(job.getId());
+            for (int i = 0; i < 100 && !VerificationJobService.FAILED.equals(finished.getStatus()); i++) {
+                Thread.sleep(100);
+                finished = verificationJobService.getJob(job.getId());
+            }
+
+            assertEquals(VerificationJobService.FAILED, finished.getStatus());
+            assertEquals(error, finished.getError());
+        } finally {
+            jobRepository.deleteById(job.getId());
+        }
+    }
+
+    // Polling a finished job, or replaying it to a late SSE subscriber, after
+    // its message was deleted
+    @Test
+    void doneJobOutlivesItsMessage() throws Exception {
+
+        MessageRespDto message = MessageRespDto.builder().id(DELETED_MESSAGE).build();
+        when(messageService.processMessage(any(), any())).thenReturn(message);
+        when(messageService.findMessage(DELETED_MESSAGE)).thenReturn(Optional.empty());
+        when(messageService.getMessage(DELETED_MESSAGE)).thenThrow(new RuntimeException("Message not found"));
+
+        VerificationJobDTO job = verificationJobService.submit("a claim", 1L);
+
+        try {
+            VerificationJobDTO finished = verificationJobService.getJob(job.getId());
+            for (int i = 0; i < 100 && !VerificationJobService.DONE.equals(finished.getStatus()); i++) {
+                Thread.sleep(100);
+                finished = verificationJobService.getJob(job.getId());
+            }
+
+            assertEquals(VerificationJobService.DONE, finished.getStatus());
+            assertNull(finished.getResult());
+            assertNotNull(verificationJobService.subscribe(job.getId()));
+        } finally {
+            jobRepository.deleteById(job.getId());
+        }
+    }
+}
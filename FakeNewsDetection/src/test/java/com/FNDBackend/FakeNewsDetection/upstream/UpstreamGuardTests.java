@@ -0,0 +1,166 @@
+package com.FNDBackend.FakeNewsDetection.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpstreamGuardTests {
+
+    private static final Duration NEVER_HALF_OPEN = Duration.ofHours(1);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void consecutiveFailuresOpenTheBreaker() {
+
+        UpstreamGuard guard = guard(3, NEVER_HALF_OPEN, 10);
+
+        assertEquals("fallback", call(guard, failing()));
+        assertEquals("fallback", call(guard, failing()));
+        assertEquals(UpstreamGuard.State.CLOSED, guard.getState());
+
+        assertEquals("fallback", call(guard, failing()));
+        assertEquals(UpstreamGuard.State.OPEN, guard.getState());
+        assertEquals(3, count("upstream.calls", "outcome", "failure"));
+        assertEquals(1, gauge("upstream.circuit.state"));
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+
+        UpstreamGuard guard = guard(2, NEVER_HALF_OPEN, 10);
+
+        call(guard, failing());
+        assertEquals("ok", call(guard, Mono.just("ok")));
+        call(guard, failing());
+
+        assertEquals(UpstreamGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void openBreakerFallsBackWithoutCalling() {
+
+        UpstreamGuard guard = guard(1, NEVER_HALF_OPEN, 10);
+        call(guard, failing());
+
+        AtomicInteger subscribed = new AtomicInteger();
+        Mono<String> upstream = Mono.fromSupplier(() -> {
+            subscribed.incrementAndGet();
+            return "ok";
+        });
+
+        assertEquals("fallback", call(guard, upstream));
+        assertEquals(List.of("fallback"), guard.protect(Flux.just("ok"), () -> Flux.just("fallback")).collectList().block());
+
+        assertEquals(0, subscribed.get());
+        assertEquals(2, count("upstream.rejected", "reason", "circuit_open"));
+    }
+
+    @Test
+    void successfulProbeClosesTheBreaker() {
+
+        UpstreamGuard guard = guard(1, Duration.ZERO, 10);
+        call(guard, failing());
+        assertEquals(UpstreamGuard.State.OPEN, guard.getState());
+
+        assertEquals("ok", call(guard, Mono.just("ok")));
+
+        assertEquals(UpstreamGuard.State.CLOSED, guard.getState());
+        assertEquals(0, gauge("upstream.circuit.state"));
+    }
+
+    @Test
+    void failedProbeReopensTheBreaker() {
+
+        UpstreamGuard guard = guard(5, Duration.ZERO, 10);
+        for (int i = 0; i < 5; i++) call(guard, failing());
+
+        // a single probe failure is enough, not another failureThreshold
+        assertEquals("fallback", call(guard, failing()));
+
+        assertEquals(UpstreamGuard.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void onlyOneProbeIsInFlight() {
+
+        UpstreamGuard guard = guard(1, Duration.ZERO, 10);
+        call(guard, failing());
+
+        Disposable probe = guard.protect(Mono.<String>never(), () -> "fallback").subscribe();
+        assertEquals(UpstreamGuard.State.HALF_OPEN, guard.getState());
+
+        assertEquals("fallback", call(guard, Mono.just("ok")));
+        assertEquals(1, count("upstream.rejected", "reason", "circuit_open"));
+
+        probe.dispose();
+    }
+
+    @Test
+    void cancelledProbeDoesNotWedgeHalfOpen() {
+
+        UpstreamGuard guard = guard(1, Duration.ZERO, 10);
+        call(guard, failing());
+
+        // e.g. the caller timed out: neither success nor failure is recorded
+        guard.protect(Mono.<String>never(), () -> "fallback").subscribe().dispose();
+        assertEquals(UpstreamGuard.State.HALF_OPEN, guard.getState());
+        assertEquals(10, gauge("upstream.bulkhead.available"));
+
+        assertEquals("ok", call(guard, Mono.just("ok")));
+        assertEquals(UpstreamGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void fullBulkheadFallsBackAndReleasesPermits() {
+
+        UpstreamGuard guard = guard(5, NEVER_HALF_OPEN, 2);
+
+        Disposable first = guard.protect(Mono.<String>never(), () -> "fallback").subscribe();
+        Disposable second = guard.protect(Flux.<String>never(), Flux::empty).subscribe();
+        assertEquals(0, gauge("upstream.bulkhead.available"));
+
+        assertEquals("fallback", call(guard, Mono.just("ok")));
+        assertEquals(1, count("upstream.rejected", "reason", "bulkhead_full"));
+        assertEquals(0, count("upstream.rejected", "reason", "circuit_open"));
+
+        first.dispose();
+        second.dispose();
+        assertEquals(2, gauge("upstream.bulkhead.available"));
+
+        // rejections are not upstream failures
+        assertEquals(UpstreamGuard.State.CLOSED, guard.getState());
+        assertEquals(0, count("upstream.calls", "outcome", "failure"));
+        assertEquals("ok", call(guard, Mono.just("ok")));
+        assertEquals(1, count("upstream.calls", "outcome", "success"));
+    }
+
+    private UpstreamGuard guard(int failureThreshold, Duration openDuration, int maxConcurrent) {
+        return new UpstreamGuard("test", failureThreshold, openDuration, maxConcurrent, registry);
+    }
+
+    private static String call(UpstreamGuard guard, Mono<String> upstream) {
+        return guard.protect(upstream, () -> "fallback").block();
+    }
+
+    private static Mono<String> failing() {
+        return Mono.error(new IllegalStateException("upstream down"));
+    }
+
+    private double count(String name, String tag, String value) {
+        return registry.get(name).tags("upstream", "test", tag, value).counter().count();
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("upstream", "test").gauge().value();
+    }
+}
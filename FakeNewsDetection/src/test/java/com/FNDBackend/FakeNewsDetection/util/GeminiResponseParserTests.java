@@ -0,0 +1,123 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import com.FNDBackend.FakeNewsDetection.dto.GeminiResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeminiResponseParserTests {
+
+    private static final String VERDICT =
+            "{\"verdict\": \"FALSE\", \"confidence\": 92, \"summary\": \"No {such} study exists.\"}";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void bareVerdictIsRead() {
+        assertVerdict(GeminiResponseParser.parseText(VERDICT));
+    }
+
+    @Test
+    void fencedVerdictIsRead() {
+        assertVerdict(GeminiResponseParser.parseText("```json\n" + VERDICT + "\n```"));
+    }
+
+    @Test
+    void proseAroundVerdictIsIgnored() {
+
+        String text = "Here is my analysis {as requested}:\n" + VERDICT + "\nLet me know if {you} need more.";
+
+        assertVerdict(GeminiResponseParser.parseText(text));
+    }
+
+    @Test
+    void blankOrMissingTextFallsBack() {
+
+        assertFallback(GeminiResponseParser.parseText(null));
+        assertFallback(GeminiResponseParser.parseText("  \n"));
+        assertFallback(GeminiResponseParser.parseText("I cannot assess this claim."));
+    }
+
+    @Test
+    void malformedVerdictFallsBack() {
+
+        assertFallback(GeminiResponseParser.parseText("{\"verdict\": \"FALSE\", \"confidence\": "));
+        assertFallback(GeminiResponseParser.parseText("{\"verdict\": \"FALSE\" \"confidence\": 92}"));
+    }
+
+    @Test
+    void verdictStartSkipsBracesThatDoNotOpenAnObject() {
+
+        assertEquals(0, GeminiResponseParser.verdictStart(VERDICT));
+        assertEquals(6, GeminiResponseParser.verdictStart("{1,2} {\"a\":1}"));
+        assertEquals(4, GeminiResponseParser.verdictStart("{x} {\n  }"));
+        assertEquals(-1, GeminiResponseParser.verdictStart("no object {here"));
+        assertEquals(-1, GeminiResponseParser.verdictStart("trailing {"));
+    }
+
+    @Test
+    void candidateTextSkipsUnrelatedFields() throws IOException {
+
+        String body = """
+                {"usageMetadata": {"promptTokenCount": 10, "nested": [1, {"text": "not this"}]},
+                 "candidates": [{"finishReason": "STOP",
+                                 "content": {"role": "model", "parts": [{"text": "first"}, {"text": "second"}]}},
+                                {"content": {"parts": [{"text": "other candidate"}]}}]}
+                """;
+
+        assertEquals("first", candidateText(body));
+    }
+
+    @Test
+    void emptyOrMalformedCandidatesYieldNoText() throws IOException {
+
+        assertEquals("", candidateText("{\"candidates\": []}"));
+        assertEquals("", candidateText("{\"candidates\": [{\"finishReason\": \"SAFETY\"}]}"));
+        assertEquals("", candidateText("{\"candidates\": [{\"content\": {\"parts\": []}}]}"));
+        assertEquals("", candidateText("{\"candidates\": [{\"content\": {\"parts\": [{\"text\": 42}]}}]}"));
+        assertEquals("", candidateText("[]"));
+        assertEquals("", GeminiResponseParser.chunkText("{\"candidates\": [{\"content\": "));
+    }
+
+    @Test
+    void wholeResponseBodyIsParsed() throws IOException {
+
+        assertVerdict(GeminiResponseParser.parse(body("```json\n" + VERDICT + "\n```")));
+        assertFallback(GeminiResponseParser.parse(body("")));
+        assertFallback(GeminiResponseParser.parse(
+                new ByteArrayInputStream("{\"candidates\": [".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String candidateText(String json) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            return GeminiResponseParser.candidateText(parser);
+        }
+    }
+
+    // generateContent response with the given model text
+    private static ByteArrayInputStream body(String text) throws IOException {
+
+        Map<String, Object> response = Map.of("candidates", new Object[]{
+                Map.of("content", Map.of("parts", new Object[]{Map.of("text", text)}))});
+
+        return new ByteArrayInputStream(MAPPER.writeValueAsBytes(response));
+    }
+
+    private static void assertVerdict(GeminiResponse response) {
+        assertEquals("FALSE", response.getVerdict());
+        assertEquals(92, response.getConfidence());
+        assertEquals("No {such} study exists.", response.getSummary());
+    }
+
+    private static void assertFallback(GeminiResponse response) {
+        assertEquals("PENDING", response.getVerdict());
+        assertEquals(0, response.getConfidence());
+    }
+}
@@ -0,0 +1,50 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashTests {
+
+    private static final String CLAIM =
+            "the city council voted to ban all gas stoves in new homes starting next january";
+
+    @Test
+    void identicalClaimsHaveFullSimilarity() {
+        assertEquals(1.0, similarity(CLAIM, CLAIM));
+    }
+
+    @Test
+    void caseAndPunctuationAreIgnored() {
+        assertEquals(1.0, similarity(CLAIM, "The City Council voted to BAN all gas stoves, in new homes; starting next January!"));
+    }
+
+    @Test
+    void disjointClaimsAreDissimilar() {
+        assertTrue(similarity(CLAIM, "vaccines cause magnetic fields around the injection site of patients") < 0.1);
+    }
+
+    @Test
+    void rewordedClaimStaysSimilar() {
+
+        // one word changed out of fifteen: 26 of 29 shingles are shared
+        double similarity = similarity(CLAIM,
+                "the city council voted to ban all gas stoves in new homes starting next february");
+
+        assertTrue(similarity > 0.7, "similarity " + similarity);
+        assertTrue(similarity < 1.0, "similarity " + similarity);
+    }
+
+    @Test
+    void blankClaimHasEmptySignature() {
+
+        assertTrue(MinHash.isEmpty(MinHash.signature("  ?! ")));
+        assertFalse(MinHash.isEmpty(MinHash.signature(CLAIM)));
+    }
+
+    private static double similarity(String a, String b) {
+        return MinHash.similarity(MinHash.signature(a), MinHash.signature(b));
+    }
+}
@@ -0,0 +1,64 @@
+package com.FNDBackend.FakeNewsDetection.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Reproducible claim-like text for index tests and benchmarks: 12-20 words
+// drawn from a fixed random vocabulary, plus the rewordings users tend to send.
+public class SyntheticClaims {
+
+    private final Random random;
+    private final String[] vocabulary;
+
+    public SyntheticClaims(long seed) {
+
+        random = new Random(seed);
+        vocabulary = new String[20_000];
+
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) word.append((char) ('a' + random.nextInt(26)));
+            vocabulary[i] = word.toString();
+        }
+    }
+
+    public String claim() {
+
+        String[] words = new String[12 + random.nextInt(9)];
+        for (int i = 0; i < words.length; i++) words[i] = word();
+
+        return String.join(" ", words);
+    }
+
+    // Same words, different case and punctuation
+    public String restyled(String claim) {
+        return claim.substring(0, 1).toUpperCase() + claim.substring(1).replace(" ", ", ") + "!";
+    }
+
+    public String withWordReplaced(String claim) {
+
+        List<String> words = words(claim);
+        words.set(random.nextInt(words.size()), word());
+
+        return String.join(" ", words);
+    }
+
+    public String withWordInserted(String claim) {
+
+        List<String> words = words(claim);
+        words.add(random.nextInt(words.size() + 1), word());
+
+        return String.join(" ", words);
+    }
+
+    private String word() {
+        return vocabulary[random.nextInt(vocabulary.length)];
+    }
+
+    private static List<String> words(String claim) {
+        return new ArrayList<>(Arrays.asList(claim.split(" ")));
+    }
+}